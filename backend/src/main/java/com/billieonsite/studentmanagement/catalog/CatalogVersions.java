@@ -0,0 +1,41 @@
+package com.billieonsite.studentmanagement.catalog;
+
+import com.billieonsite.studentmanagement.schedule.ClassChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Modification counters of the classes and teachers tables, bumped by the change events that the
+// controllers publish after each committed write, and the strong ETags of the catalog lists built
+// from them. A list request reads its tag before touching a repository, so the body it sends is
+// never older than the tag; an If-None-Match that still matches costs one counter read.
+// The start time keeps tags from an earlier run, whose counters also began at 0, from matching.
+// Like the other in-memory schedule views this assumes a single instance writes the catalog.
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong classes = new AtomicLong();
+    private final AtomicLong teachers = new AtomicLong();
+
+    @EventListener
+    public void onClassChanged(ClassChangedEvent event) {
+        classes.incrementAndGet();
+    }
+
+    @EventListener
+    public void onTeacherChanged(TeacherChangedEvent event) {
+        teachers.incrementAndGet();
+    }
+
+    // Class rows carry the teacher's name, so the class lists change with either table
+    public String classesETag() {
+        return "\"classes-" + epoch + "-" + classes.get() + "-" + teachers.get() + "\"";
+    }
+
+    public String teachersETag() {
+        return "\"teachers-" + epoch + "-" + teachers.get() + "\"";
+    }
+}
@@ -0,0 +1,209 @@
+package com.billieonsite.studentmanagement.catalog;
+
+import com.billieonsite.studentmanagement.dto.ClassDto;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.schedule.ClassChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// The unfiltered GET /api/classes body, rendered once per catalog change to an identity and a
+// gzip file so the request path only has to copy a file: no JPA, no Jackson, and no buffers that
+// grow with the catalog. Rebuilds run on one background thread after class and teacher changes
+// (several changes in a row coalesce into one rebuild). A snapshot is only handed out while its
+// CatalogVersions tag is still the current one; until the rebuild lands, callers fall back to the
+// query, so a write is visible to the next request just as before.
+@Component
+public class ClassCatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassCatalogSnapshot.class);
+
+    private static final String FILE_PREFIX = "classes-";
+
+    // Files of a replaced snapshot stay this long for responses still sending them
+    private static final Duration RETIRE_DELAY = Duration.ofMinutes(1);
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Empty means a fresh directory under java.io.tmpdir
+    @Value("${catalog.snapshot.directory:}")
+    private String directory;
+
+    private Path snapshotDirectory;
+    private ScheduledExecutorService writer;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot current;
+
+    @PostConstruct
+    public void init() throws IOException {
+        snapshotDirectory = StringUtils.hasText(directory)
+            ? Files.createDirectories(Path.of(directory))
+            : Files.createTempDirectory("class-catalog-");
+        writer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("catalog-snapshot-"));
+    }
+
+    // Removes every snapshot file, including replaced ones still waiting for their delay
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+        try (Stream<Path> files = Files.list(snapshotDirectory)) {
+            files.filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX)).forEach(ClassCatalogSnapshot::delete);
+        } catch (IOException e) {
+            log.debug("Class catalog snapshot directory not cleaned: {}", snapshotDirectory, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestRebuild();
+    }
+
+    @EventListener
+    public void onClassChanged(ClassChangedEvent event) {
+        requestRebuild();
+    }
+
+    @EventListener
+    public void onTeacherChanged(TeacherChangedEvent event) {
+        requestRebuild();
+    }
+
+    // The snapshot matching the current catalog version, or null while none does. A stale
+    // snapshot also schedules a rebuild, which covers a change event racing the previous rebuild.
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.identity().etag().equals(catalogVersions.classesETag())) {
+            return snapshot;
+        }
+        requestRebuild();
+        return null;
+    }
+
+    private void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                // Cleared first: a change arriving while this rebuild runs schedules the next one
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException | IOException e) {
+                    log.warn("Class catalog snapshot not rebuilt, the list is served from the database", e);
+                }
+            });
+        }
+    }
+
+    // The tag is read before the query, so the files are never older than the tag they carry
+    public void rebuild() throws IOException {
+        String etag = catalogVersions.classesETag();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        List<ClassDto> classes = transaction.execute(status ->
+            classRepository.findSlice(0L, null, null, Pageable.unpaged())
+                .map(clazz -> new ClassDto(
+                    clazz.getId(),
+                    clazz.getTitle(),
+                    clazz.getSchedule(),
+                    clazz.getSubject(),
+                    clazz.getTeacher() != null ? clazz.getTeacher().getId() : null,
+                    clazz.getTeacher() != null ? clazz.getTeacher().getName() : null
+                ))
+                .getContent());
+
+        byte[] json = objectMapper.writeValueAsBytes(classes);
+        long number = generation.incrementAndGet();
+        Variant identity = write(FILE_PREFIX + number + ".json", json, etag);
+        Variant gzip = write(FILE_PREFIX + number + ".json.gz", gzip(json), gzipETag(etag));
+
+        Snapshot previous = current;
+        current = new Snapshot(identity, gzip);
+        if (previous != null) {
+            writer.schedule(() -> delete(previous), RETIRE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Variant write(String name, byte[] content, String etag) throws IOException {
+        Path path = snapshotDirectory.resolve(name);
+        Files.write(path, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new Variant(path, content.length, etag);
+    }
+
+    // Written rarely and sent often, so compressed as hard as gzip goes
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // A strong tag names one encoding of the body, so the gzip file gets its own
+    private static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private static void delete(Snapshot snapshot) {
+        delete(snapshot.identity().path());
+        delete(snapshot.gzip().path());
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Class catalog snapshot file not deleted: {}", path, e);
+        }
+    }
+
+    public record Snapshot(Variant identity, Variant gzip) {}
+
+    public record Variant(Path path, long length, String etag) {}
+}
@@ -0,0 +1,18 @@
+package com.billieonsite.studentmanagement.catalog;
+
+// Published after a teacher has been saved or deleted, or after a user account was renamed (the
+// teacher list shows usernames; teacherId is null then), so catalog views can follow
+public record TeacherChangedEvent(Long teacherId, boolean deleted) {
+
+    public static TeacherChangedEvent saved(Long teacherId) {
+        return new TeacherChangedEvent(teacherId, false);
+    }
+
+    public static TeacherChangedEvent deleted(Long teacherId) {
+        return new TeacherChangedEvent(teacherId, true);
+    }
+
+    public static TeacherChangedEvent usernameChanged() {
+        return new TeacherChangedEvent(null, false);
+    }
+}
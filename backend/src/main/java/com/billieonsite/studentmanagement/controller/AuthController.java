@@ -4,6 +4,8 @@ import com.billieonsite.studentmanagement.dto.LoginRequest;
 import com.billieonsite.studentmanagement.dto.UserDto;
 import com.billieonsite.studentmanagement.model.User;
 import com.billieonsite.studentmanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,12 +13,11 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.util.Optional;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
-
 import com.billieonsite.studentmanagement.model.Student;
 import com.billieonsite.studentmanagement.repository.StudentRepository;
 import com.billieonsite.studentmanagement.model.Role;
 import com.billieonsite.studentmanagement.security.JwtUtils;
+import com.billieonsite.studentmanagement.security.PasswordHasher;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,11 +26,13 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Autowired
     private StudentRepository studentRepository;
@@ -41,26 +44,17 @@ public class AuthController {
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
         Optional<User> user = userRepository.findByUsername(loginRequest.getUsername());
         
-        if (user.isPresent()) {
-            System.out.println("=== LOGIN DEBUG ===");
-            System.out.println("Username: " + loginRequest.getUsername());
-            System.out.println("Input password: " + loginRequest.getPassword());
-            System.out.println("Stored password hash: " + user.get().getPassword());
-            System.out.println("Password matches: " + passwordEncoder.matches(loginRequest.getPassword(), user.get().getPassword()));
-            System.out.println("===================");
-        }
-        
-        if (user.isPresent() && passwordEncoder.matches(loginRequest.getPassword(), user.get().getPassword())) {
+        // Exactly one BCrypt verification per attempt, on the bounded hashing pool
+        if (user.isPresent() && passwordHasher.matches(loginRequest.getPassword(), user.get().getPassword())) {
             try {
                 // Generate JWT token
                 String jwt = jwtUtils.generateJwtToken(
                     user.get().getUsername(),
                     user.get().getId(),
-                    user.get().getRole().toString()
+                    user.get().getRole().toString(),
+                    user.get().getTokenVersion()
                 );
                 
-                System.out.println("JWT generated successfully: " + jwt.substring(0, 20) + "...");
-                
                 // Create response with both token and user info
                 Map<String, Object> response = new HashMap<>();
                 response.put("token", jwt);
@@ -71,11 +65,10 @@ public class AuthController {
                     user.get().getRole()
                 ));
                 
-                System.out.println("Login successful for user: " + user.get().getUsername());
+                log.atInfo().setMessage("Login succeeded").addKeyValue("userId", user.get().getId()).log();
                 return ResponseEntity.ok(response);
             } catch (Exception e) {
-                System.err.println("JWT generation failed: " + e.getMessage());
-                e.printStackTrace();
+                log.error("JWT generation failed", e);
                 return ResponseEntity.status(500).body("Token generation failed");
             }
         }
@@ -96,7 +89,7 @@ public class AuthController {
 
         User user = new User(
             registerDto.getUsername(),
-            passwordEncoder.encode(registerDto.getPassword()),
+            passwordHasher.encode(registerDto.getPassword()),
             registerDto.getRole()
         );
 
@@ -107,7 +100,10 @@ public class AuthController {
             Student student = new Student(savedUser.getUsername(), email);
             student.setUser(savedUser);
             Student savedStudent = studentRepository.save(student);
-            System.out.println("Created student with ID: " + savedStudent.getId() + " for user ID: " + savedUser.getId());
+            log.atInfo().setMessage("Student registered")
+                .addKeyValue("studentId", savedStudent.getId())
+                .addKeyValue("userId", savedUser.getId())
+                .log();
         }
         
         UserDto responseDto = new UserDto(
@@ -133,7 +129,7 @@ public class AuthController {
 
         User user = new User(
             adminDto.getUsername(),
-            passwordEncoder.encode(adminDto.getPassword()),
+            passwordHasher.encode(adminDto.getPassword()),
             Role.ADMIN
         );
 
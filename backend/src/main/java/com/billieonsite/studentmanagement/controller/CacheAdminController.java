@@ -0,0 +1,66 @@
+package com.billieonsite.studentmanagement.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheAdminController {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Hibernate second-level and query cache counters since startup, overall and per region
+    @GetMapping("/statistics")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        response.put("secondLevel", counters(statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        response.put("query", counters(statistics.getQueryCacheHitCount(),
+            statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+        Map<String, Object> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region;
+            try {
+                region = statistics.getDomainDataRegionStatistics(regionName);
+            } catch (IllegalArgumentException e) {
+                continue; // Not an entity or collection region
+            }
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> regionCounters = counters(region.getHitCount(), region.getMissCount(), region.getPutCount());
+            // JCache regions cannot report their size and answer -1
+            if (region.getElementCountInMemory() >= 0) {
+                regionCounters.put("size", region.getElementCountInMemory());
+            }
+            regions.put(regionName, regionCounters);
+        }
+        response.put("regions", regions);
+        response.put("statementsPrepared", statistics.getPrepareStatementCount());
+
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        counters.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return counters;
+    }
+}
@@ -1,19 +1,37 @@
 package com.billieonsite.studentmanagement.controller;
 
+import com.billieonsite.studentmanagement.catalog.CatalogVersions;
+import com.billieonsite.studentmanagement.catalog.ClassCatalogSnapshot;
 import com.billieonsite.studentmanagement.dto.ClassDto;
+import com.billieonsite.studentmanagement.logging.SampledLogger;
 import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.ClassSlotCount;
 import com.billieonsite.studentmanagement.model.Teacher;
 import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.ClassSlotCountRepository;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
 import com.billieonsite.studentmanagement.repository.TeacherRepository;
+import com.billieonsite.studentmanagement.schedule.ClassChangedEvent;
+import com.billieonsite.studentmanagement.schedule.CompactSchedule;
+import com.billieonsite.studentmanagement.schedule.ParsedScheduleCache;
+import com.billieonsite.studentmanagement.schedule.ScheduleConstraints;
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
+import com.billieonsite.studentmanagement.schedule.SlotInterval;
+import com.billieonsite.studentmanagement.service.IClassService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -21,41 +39,81 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/classes")
 public class ClassController {
 
+    private static final SampledLogger scheduleConflict = SampledLogger.of("schedule-conflict", 20, Duration.ofSeconds(10));
+
     @Autowired
     private ClassRepository classRepository;
     
     @Autowired
     private TeacherRepository teacherRepository;
     
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @Autowired
+    private ClassSlotCountRepository classSlotCountRepository;
+    
+    @Autowired
+    private IClassService classService;
+    
+    @Autowired
+    private ScheduleConstraints scheduleConstraints;
+    
+    @Autowired
+    private ParsedScheduleCache parsedScheduleCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private ClassCatalogSnapshot classCatalogSnapshot;
 
     @GetMapping
-    public ResponseEntity<List<ClassDto>> getAllClasses() {
-        List<Class> classes = classRepository.findAll();
-        List<ClassDto> classDtos = classes.stream()
-            .map(clazz -> {
-                Object schedule = clazz.getSchedule();
-                // If schedule is stored as a string, try to parse it as JSON
-                if (schedule instanceof String) {
-                    try {
-                        schedule = objectMapper.readValue((String) schedule, Object.class);
-                    } catch (Exception e) {
-                        System.err.println("Error parsing schedule JSON for class " + clazz.getId() + ": " + e.getMessage());
-                        // Keep as string if parsing fails
-                    }
+    public ResponseEntity<List<ClassDto>> getAllClasses(@RequestParam(required = false) String subject,
+                                                        @RequestParam(required = false) Long teacherId,
+                                                        @RequestParam(required = false) String after,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        HttpServletRequest request,
+                                                        HttpServletResponse response) throws IOException {
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        // The unfiltered list may also be sent gzip-encoded from the snapshot
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        
+        // The whole catalog is copied from its pre-rendered file while that file is current
+        if (subject == null && teacherId == null && after == null && limit == null) {
+            ClassCatalogSnapshot.Snapshot snapshot = classCatalogSnapshot.current();
+            if (snapshot != null) {
+                boolean gzip = FileResponses.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+                ClassCatalogSnapshot.Variant variant = gzip ? snapshot.gzip() : snapshot.identity();
+                if (webRequest.checkNotModified(variant.etag())) {
+                    return ConditionalGet.notModified();
                 }
-                
-                return new ClassDto(
-                    clazz.getId(),
-                    clazz.getTitle(),
-                    schedule,
-                    clazz.getSubject(),
-                    clazz.getTeacher() != null ? clazz.getTeacher().getId() : null,
-                    clazz.getTeacher() != null ? clazz.getTeacher().getName() : null
-                );
-            })
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(classDtos);
+                ConditionalGet.revalidate(response);
+                FileResponses.sendJson(request, response, variant.path(), variant.length(), gzip ? "gzip" : null);
+                // Already written; a null ResponseEntity tells Spring MVC there is nothing left to do
+                return null;
+            }
+        }
+        
+        // An unchanged catalog is answered from the version counters alone
+        String etag = catalogVersions.classesETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ConditionalGet.notModified();
+        }
+        
+        Slice<ClassDto> classes = classRepository.findSlice(KeysetPaging.after(after), subject, teacherId, KeysetPaging.pageable(limit))
+            .map(clazz -> new ClassDto(
+                clazz.getId(),
+                clazz.getTitle(),
+                clazz.getSchedule(),
+                clazz.getSubject(),
+                clazz.getTeacher() != null ? clazz.getTeacher().getId() : null,
+                clazz.getTeacher() != null ? clazz.getTeacher().getName() : null
+            ));
+        return ConditionalGet.withETag(KeysetPaging.ok(classes, ClassDto::getId), etag);
     }
 
     @GetMapping("/{id}")
@@ -63,21 +121,10 @@ public class ClassController {
         Optional<Class> clazz = classRepository.findById(id);
         if (clazz.isPresent()) {
             Class c = clazz.get();
-            Object schedule = c.getSchedule();
-            // If schedule is stored as a string, try to parse it as JSON
-            if (schedule instanceof String) {
-                try {
-                    schedule = objectMapper.readValue((String) schedule, Object.class);
-                } catch (Exception e) {
-                    System.err.println("Error parsing schedule JSON for class " + c.getId() + ": " + e.getMessage());
-                    // Keep as string if parsing fails
-                }
-            }
-            
             ClassDto classDto = new ClassDto(
                 c.getId(),
                 c.getTitle(),
-                schedule,
+                c.getSchedule(),
                 c.getSubject(),
                 c.getTeacher() != null ? c.getTeacher().getId() : null,
                 c.getTeacher() != null ? c.getTeacher().getName() : null
@@ -87,6 +134,36 @@ public class ClassController {
         return ResponseEntity.notFound().build();
     }
 
+    // Read from the maintained counters, so no enrollment rows are scanned. Kept out of the list
+    // bodies, which would otherwise change (and lose their ETag and snapshot) on every enrollment.
+    @GetMapping("/{id}/enrollment-counts")
+    public ResponseEntity<Map<String, Object>> getEnrollmentCounts(@PathVariable Long id) {
+        Optional<Class> clazz = classRepository.findById(id);
+        if (!clazz.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<ClassSlotCount> slotCounts = new ArrayList<>(classSlotCountRepository.findByClassId(id));
+        slotCounts.sort(Comparator.comparingInt((ClassSlotCount slot) -> ScheduleParser.dayIndex(slot.getDay()))
+            .thenComparing(ClassSlotCount::getStartTime)
+            .thenComparing(ClassSlotCount::getEndTime));
+        List<Map<String, Object>> slots = new ArrayList<>(slotCounts.size());
+        for (ClassSlotCount slotCount : slotCounts) {
+            Map<String, Object> slot = new LinkedHashMap<>();
+            slot.put("day", slotCount.getDay());
+            slot.put("startTime", slotCount.getStartTime());
+            slot.put("endTime", slotCount.getEndTime());
+            slot.put("enrolled", slotCount.getEnrolledCount());
+            slots.add(slot);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("classId", id);
+        response.put("enrolledStudents", clazz.get().getEnrolledCount());
+        response.put("slots", slots);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/teacher/{teacherId}")
     public ResponseEntity<List<ClassDto>> getClassesByTeacher(@PathVariable Long teacherId) {
         Optional<Teacher> teacher = teacherRepository.findById(teacherId);
@@ -96,27 +173,14 @@ public class ClassController {
         
         List<Class> classes = classRepository.findByTeacher(teacher.get());
         List<ClassDto> classDtos = classes.stream()
-            .map(clazz -> {
-                Object schedule = clazz.getSchedule();
-                // If schedule is stored as a string, try to parse it as JSON
-                if (schedule instanceof String) {
-                    try {
-                        schedule = objectMapper.readValue((String) schedule, Object.class);
-                    } catch (Exception e) {
-                        System.err.println("Error parsing schedule JSON for class " + clazz.getId() + ": " + e.getMessage());
-                        // Keep as string if parsing fails
-                    }
-                }
-                
-                return new ClassDto(
-                    clazz.getId(),
-                    clazz.getTitle(),
-                    schedule,
-                    clazz.getSubject(),
-                    clazz.getTeacher().getId(),
-                    clazz.getTeacher().getName()
-                );
-            })
+            .map(clazz -> new ClassDto(
+                clazz.getId(),
+                clazz.getTitle(),
+                clazz.getSchedule(),
+                clazz.getSubject(),
+                clazz.getTeacher().getId(),
+                clazz.getTeacher().getName()
+            ))
             .collect(Collectors.toList());
         return ResponseEntity.ok(classDtos);
     }
@@ -139,44 +203,40 @@ public class ClassController {
         
         Teacher teacher = teacherOpt.get();
         
-        // Convert schedule to JSON string for storage
-        String scheduleJson;
-        if (classDto.getSchedule() instanceof String) {
-            scheduleJson = (String) classDto.getSchedule();
-        } else {
-            try {
-                scheduleJson = objectMapper.writeValueAsString(classDto.getSchedule());
-            } catch (Exception e) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Invalid schedule format");
-                return ResponseEntity.badRequest().body(error);
-            }
-        }
-        
-        // Check for conflicts before creating the class
-        List<String> conflictErrors = checkScheduleConflicts(scheduleJson, teacher, null);
-        if (!conflictErrors.isEmpty()) {
+        List<SlotInterval> slots;
+        try {
+            slots = ScheduleParser.parse(classDto.getSchedule());
+        } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Schedule conflicts detected");
-            error.put("conflicts", conflictErrors);
+            error.put("conflicts", List.of("Error parsing schedule: " + e.getMessage()));
             return ResponseEntity.badRequest().body(error);
         }
         
-        Class clazz = new Class(classDto.getTitle(), classDto.getSubject(), scheduleJson, teacher);
-        Class savedClass = classRepository.save(clazz);
+        // Check for conflicts before creating the class; room double-booking is left to the
+        // database exclusion constraint when it is installed, which also covers concurrent saves
+        List<String> conflictErrors = checkScheduleConflicts(slots, teacher, null, !scheduleConstraints.isRoomExclusionEnforced());
+        if (!conflictErrors.isEmpty()) {
+            return conflictResponse(conflictErrors);
+        }
         
-        // Parse schedule back to object for response
-        Object responseSchedule = savedClass.getSchedule();
+        Class clazz = new Class(classDto.getTitle(), classDto.getSubject(), classDto.getSchedule(), teacher);
+        Class savedClass;
         try {
-            responseSchedule = objectMapper.readValue(savedClass.getSchedule(), Object.class);
-        } catch (Exception e) {
-            // Keep as string if parsing fails
+            savedClass = classService.saveWithSchedule(clazz, slots);
+        } catch (DataIntegrityViolationException e) {
+            if (!ScheduleConstraints.isRoomOverlap(e)) {
+                throw e;
+            }
+            return roomOverlapResponse(slots, null);
         }
+        eventPublisher.publishEvent(ClassChangedEvent.saved(savedClass, null, slots));
+        parsedScheduleCache.put(savedClass, CompactSchedule.of(slots));
         
         ClassDto responseDto = new ClassDto(
             savedClass.getId(),
             savedClass.getTitle(),
-            responseSchedule,
+            savedClass.getSchedule(),
             savedClass.getSubject(),
             savedClass.getTeacher().getId(),
             savedClass.getTeacher().getName()
@@ -186,7 +246,7 @@ public class ClassController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ClassDto> updateClass(@PathVariable Long id, @Valid @RequestBody ClassDto classDto) {
+    public ResponseEntity<?> updateClass(@PathVariable Long id, @Valid @RequestBody ClassDto classDto) {
         Optional<Class> classOptional = classRepository.findById(id);
         
         if (!classOptional.isPresent()) {
@@ -194,21 +254,19 @@ public class ClassController {
         }
 
         Class clazz = classOptional.get();
+        CompactSchedule previousSchedule = parsedScheduleCache.get(clazz);
         clazz.setTitle(classDto.getTitle());
         clazz.setSubject(classDto.getSubject());
         
-        // Convert schedule to JSON string for storage
-        String scheduleJson;
-        if (classDto.getSchedule() instanceof String) {
-            scheduleJson = (String) classDto.getSchedule();
-        } else {
-            try {
-                scheduleJson = objectMapper.writeValueAsString(classDto.getSchedule());
-            } catch (Exception e) {
-                return ResponseEntity.badRequest().build();
-            }
+        List<SlotInterval> slots;
+        try {
+            slots = ScheduleParser.parse(classDto.getSchedule());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-        clazz.setSchedule(scheduleJson);
+        CompactSchedule schedule = CompactSchedule.of(slots);
+        clazz.setSchedule(classDto.getSchedule());
+        Long previousTeacherId = clazz.getTeacher() != null ? clazz.getTeacher().getId() : null;
         
         if (classDto.getTeacherId() != null) {
             Optional<Teacher> teacher = teacherRepository.findById(classDto.getTeacherId());
@@ -219,20 +277,36 @@ public class ClassController {
             clazz.setTeacher(null);
         }
 
-        Class updatedClass = classRepository.save(clazz);
+        // Edits that leave the slots and the teacher alone (title, subject) keep the stored
+        // schedule_slots rows and need no conflict check
+        Long teacherId = clazz.getTeacher() != null ? clazz.getTeacher().getId() : null;
+        boolean slotsUnchanged = schedule.equals(previousSchedule) && Objects.equals(teacherId, previousTeacherId);
+        
+        // Teacher conflicts have no database constraint or lock and are always checked here, so unlike
+        // rooms this is best-effort against concurrent saves
+        if (!slotsUnchanged) {
+            List<String> conflictErrors = checkScheduleConflicts(slots, clazz.getTeacher(), id, !scheduleConstraints.isRoomExclusionEnforced());
+            if (!conflictErrors.isEmpty()) {
+                return conflictResponse(conflictErrors);
+            }
+        }
         
-        // Parse schedule back to object for response
-        Object responseSchedule = updatedClass.getSchedule();
+        Class updatedClass;
         try {
-            responseSchedule = objectMapper.readValue(updatedClass.getSchedule(), Object.class);
-        } catch (Exception e) {
-            // Keep as string if parsing fails
+            updatedClass = slotsUnchanged ? classRepository.save(clazz) : classService.saveWithSchedule(clazz, slots);
+        } catch (DataIntegrityViolationException e) {
+            if (!ScheduleConstraints.isRoomOverlap(e)) {
+                throw e;
+            }
+            return roomOverlapResponse(slots, id);
         }
+        eventPublisher.publishEvent(ClassChangedEvent.saved(updatedClass, previousTeacherId, slots));
+        parsedScheduleCache.put(updatedClass, schedule);
         
         ClassDto responseDto = new ClassDto(
             updatedClass.getId(),
             updatedClass.getTitle(),
-            responseSchedule,
+            updatedClass.getSchedule(),
             updatedClass.getSubject(),
             updatedClass.getTeacher() != null ? updatedClass.getTeacher().getId() : null,
             updatedClass.getTeacher() != null ? updatedClass.getTeacher().getName() : null
@@ -243,151 +317,66 @@ public class ClassController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteClass(@PathVariable Long id) {
-        if (classRepository.existsById(id)) {
-            classRepository.deleteById(id);
+        Optional<Class> clazz = classRepository.findById(id);
+        if (clazz.isPresent()) {
+            Long teacherId = clazz.get().getTeacher() != null ? clazz.get().getTeacher().getId() : null;
+            classRepository.delete(clazz.get());
+            eventPublisher.publishEvent(ClassChangedEvent.deleted(id, teacherId));
             return ResponseEntity.ok("Class deleted successfully");
         }
         return ResponseEntity.notFound().build();
     }
     
-    private List<String> checkScheduleConflicts(String scheduleJson, Teacher teacher, Long excludeClassId) {
-        List<String> conflicts = new ArrayList<>();
-        
-        try {
-            JsonNode schedule = objectMapper.readTree(scheduleJson);
-            String[] days = {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
-            
-            for (String day : days) {
-                JsonNode daySchedule = schedule.get(day);
-                if (daySchedule == null || !daySchedule.isArray()) {
-                    continue;
-                }
-                
-                for (JsonNode timeSlot : daySchedule) {
-                    String room = timeSlot.get("room").asText();
-                    String startTime = timeSlot.get("start").asText();
-                    String endTime = timeSlot.get("end").asText();
-                    
-                    // Check room conflicts
-                    List<String> roomConflicts = checkRoomConflicts(room, day, startTime, endTime, excludeClassId);
-                    conflicts.addAll(roomConflicts);
-                    
-                    // Check teacher conflicts
-                    List<String> teacherConflicts = checkTeacherConflicts(teacher, day, startTime, endTime, excludeClassId);
-                    conflicts.addAll(teacherConflicts);
-                }
-            }
-        } catch (Exception e) {
-            conflicts.add("Error parsing schedule: " + e.getMessage());
+    // Rejected by the room exclusion constraint (or ScheduleConstraints.lockRooms in its place): the
+    // other booking is committed by now, so the same queries as the pre-check can name it
+    private ResponseEntity<Map<String, Object>> roomOverlapResponse(List<SlotInterval> slots, Long excludeClassId) {
+        List<String> conflictErrors = checkScheduleConflicts(slots, null, excludeClassId, true);
+        if (conflictErrors.isEmpty()) {
+            conflictErrors.add("Room is already booked at an overlapping time");
         }
-        
-        return conflicts;
+        return conflictResponse(conflictErrors);
     }
     
-    private List<String> checkRoomConflicts(String room, String day, String startTime, String endTime, Long excludeClassId) {
-        List<String> conflicts = new ArrayList<>();
-        List<Class> allClasses = classRepository.findAll();
-        
-        LocalTime targetStart = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
-        LocalTime targetEnd = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
-        
-        for (Class clazz : allClasses) {
-            if (excludeClassId != null && clazz.getId().equals(excludeClassId)) {
-                continue;
-            }
-            
-            if (hasRoomConflict(clazz.getSchedule(), room, day, startTime, endTime)) {
-                conflicts.add("Room " + room + " conflict on " + day + " " + startTime + "-" + endTime + 
-                            " with class: " + clazz.getTitle() + " (Teacher: " + 
-                            (clazz.getTeacher() != null ? clazz.getTeacher().getName() : "Unknown") + ")");
-            }
-        }
-        
-        return conflicts;
+    private ResponseEntity<Map<String, Object>> conflictResponse(List<String> conflictErrors) {
+        scheduleConflict.atInfo().setMessage("Class schedule refused")
+            .addKeyValue("conflicts", conflictErrors.size())
+            .log();
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "Schedule conflicts detected");
+        error.put("conflicts", conflictErrors);
+        return ResponseEntity.badRequest().body(error);
     }
     
-    private List<String> checkTeacherConflicts(Teacher teacher, String day, String startTime, String endTime, Long excludeClassId) {
+    // Room checks are skipped when checkRooms is false and teacher checks when teacher is null
+    private List<String> checkScheduleConflicts(List<SlotInterval> slots, Teacher teacher, Long excludeClassId, boolean checkRooms) {
         List<String> conflicts = new ArrayList<>();
-        List<Class> teacherClasses = classRepository.findByTeacher(teacher);
         
-        for (Class clazz : teacherClasses) {
-            if (excludeClassId != null && clazz.getId().equals(excludeClassId)) {
-                continue;
-            }
+        // Each slot is one indexed range query against schedule_slots, so the write path
+        // sees every committed class rather than this instance's in-memory view
+        for (SlotInterval slot : slots) {
+            String window = ScheduleParser.dayName(slot.day()) + " " + ScheduleParser.formatMinutes(slot.start()) + "-" + 
+                            ScheduleParser.formatMinutes(slot.end());
             
-            if (hasTimeConflict(clazz.getSchedule(), day, startTime, endTime)) {
-                conflicts.add("Teacher " + teacher.getName() + " conflict on " + day + " " + startTime + "-" + endTime + 
-                            " with class: " + clazz.getTitle());
-            }
-        }
-        
-        return conflicts;
-    }
-    
-    private boolean hasRoomConflict(String scheduleJson, String targetRoom, String targetDay, 
-                                   String targetStartTime, String targetEndTime) {
-        try {
-            JsonNode schedule = objectMapper.readTree(scheduleJson);
-            JsonNode daySchedule = schedule.get(targetDay.toLowerCase());
-            
-            if (daySchedule == null || !daySchedule.isArray()) {
-                return false;
-            }
-
-            LocalTime targetStart = LocalTime.parse(targetStartTime, DateTimeFormatter.ofPattern("HH:mm"));
-            LocalTime targetEnd = LocalTime.parse(targetEndTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-            for (JsonNode timeSlot : daySchedule) {
-                String room = timeSlot.get("room").asText();
-                String startTime = timeSlot.get("start").asText();
-                String endTime = timeSlot.get("end").asText();
-
-                if (!room.equalsIgnoreCase(targetRoom)) {
-                    continue;
-                }
-
-                LocalTime slotStart = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
-                LocalTime slotEnd = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-                if (targetStart.isBefore(slotEnd) && targetEnd.isAfter(slotStart)) {
-                    return true;
+            if (checkRooms) {
+                List<Class> roomConflicts = scheduleSlotRepository.findRoomConflicts(
+                    ScheduleParser.roomKey(slot.room()), (short) slot.day(), (short) slot.start(), (short) slot.end(), excludeClassId);
+                for (Class clazz : roomConflicts) {
+                    conflicts.add("Room " + slot.room() + " conflict on " + window + 
+                                " with class: " + clazz.getTitle() + " (Teacher: " + 
+                                (clazz.getTeacher() != null ? clazz.getTeacher().getName() : "Unknown") + ")");
                 }
             }
-
-            return false;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private boolean hasTimeConflict(String scheduleJson, String targetDay, 
-                                   String targetStartTime, String targetEndTime) {
-        try {
-            JsonNode schedule = objectMapper.readTree(scheduleJson);
-            JsonNode daySchedule = schedule.get(targetDay.toLowerCase());
             
-            if (daySchedule == null || !daySchedule.isArray()) {
-                return false;
-            }
-
-            LocalTime targetStart = LocalTime.parse(targetStartTime, DateTimeFormatter.ofPattern("HH:mm"));
-            LocalTime targetEnd = LocalTime.parse(targetEndTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-            for (JsonNode timeSlot : daySchedule) {
-                String startTime = timeSlot.get("start").asText();
-                String endTime = timeSlot.get("end").asText();
-
-                LocalTime slotStart = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
-                LocalTime slotEnd = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-                if (targetStart.isBefore(slotEnd) && targetEnd.isAfter(slotStart)) {
-                    return true;
+            if (teacher != null) {
+                List<Class> teacherConflicts = scheduleSlotRepository.findTeacherConflicts(
+                    teacher.getId(), (short) slot.day(), (short) slot.start(), (short) slot.end(), excludeClassId);
+                for (Class clazz : teacherConflicts) {
+                    conflicts.add("Teacher " + teacher.getName() + " conflict on " + window + 
+                                " with class: " + clazz.getTitle());
                 }
             }
-
-            return false;
-        } catch (Exception e) {
-            return false;
         }
+        
+        return conflicts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.billieonsite.studentmanagement.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// Responses for list endpoints whose ETag is known without a query (CatalogVersions): callers
+// check WebRequest.checkNotModified(etag) first and answer notModified() before touching any
+// repository. Both responses are private and no-cache, so the browser keeps the body but asks
+// again every time. Setting Cache-Control here also keeps Spring Security from adding no-store,
+// which would stop the browser from revalidating at all.
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {}
+
+    // checkNotModified has already put the ETag on the servlet response
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+    }
+
+    static <T> ResponseEntity<T> withETag(ResponseEntity<T> response, String etag) {
+        return ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .eTag(etag)
+            .cacheControl(REVALIDATE)
+            .body(response.getBody());
+    }
+
+    // For bodies written straight to the servlet response
+    static void revalidate(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+    }
+}
@@ -4,18 +4,24 @@ import com.billieonsite.studentmanagement.model.Class;
 import com.billieonsite.studentmanagement.model.Teacher;
 import com.billieonsite.studentmanagement.repository.ClassRepository;
 import com.billieonsite.studentmanagement.repository.TeacherRepository;
+import com.billieonsite.studentmanagement.schedule.RoomOccupancyMap;
+import com.billieonsite.studentmanagement.schedule.ScheduleIndex;
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
+import com.billieonsite.studentmanagement.schedule.SlotInterval;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/conflicts")
@@ -27,6 +33,12 @@ public class ConflictController {
     @Autowired
     private TeacherRepository teacherRepository;
     
+    @Autowired
+    private ScheduleIndex scheduleIndex;
+    
+    @Autowired
+    private RoomOccupancyMap roomOccupancyMap;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @PostMapping("/check-room")
@@ -39,16 +51,20 @@ public class ConflictController {
             Long excludeClassId = request.get("excludeClassId") != null ? 
                 Long.valueOf(request.get("excludeClassId").toString()) : null;
 
-            List<Class> allClasses = classRepository.findAll();
-            List<Map<String, Object>> conflicts = new ArrayList<>();
+            int dayIndex = ScheduleParser.dayIndex(day);
+            int start = ScheduleParser.toMinutes(startTime);
+            int end = ScheduleParser.toMinutes(endTime);
 
-            for (Class clazz : allClasses) {
-                // Skip the class being edited
-                if (excludeClassId != null && clazz.getId().equals(excludeClassId)) {
-                    continue;
-                }
+            // The occupancy bitmap answers the common "room is free" case; only possible hits go to the index
+            Set<Long> conflictIds = dayIndex >= 0 && roomOccupancyMap.isFree(room, dayIndex, start, end) ? 
+                new HashSet<>() : 
+                scheduleIndex.findRoomConflicts(room, dayIndex, start, end, excludeClassId);
+            Map<Long, Class> conflictingClasses = loadClasses(conflictIds);
+            List<Map<String, Object>> conflicts = new ArrayList<>();
 
-                if (hasRoomConflict(clazz.getSchedule(), room, day, startTime, endTime)) {
+            for (Long classId : conflictIds) {
+                Class clazz = conflictingClasses.get(classId);
+                if (clazz != null) {
                     Map<String, Object> conflict = new HashMap<>();
                     conflict.put("classId", clazz.getId());
                     conflict.put("classTitle", clazz.getTitle());
@@ -89,16 +105,14 @@ public class ConflictController {
                 return ResponseEntity.badRequest().body(errorResponse);
             }
 
-            List<Class> teacherClasses = classRepository.findByTeacher(teacher);
+            Set<Long> conflictIds = scheduleIndex.findTeacherConflicts(teacher.getId(), ScheduleParser.dayIndex(day),
+                ScheduleParser.toMinutes(startTime), ScheduleParser.toMinutes(endTime), excludeClassId);
+            Map<Long, Class> conflictingClasses = loadClasses(conflictIds);
             List<Map<String, Object>> conflicts = new ArrayList<>();
 
-            for (Class clazz : teacherClasses) {
-                // Skip the class being edited
-                if (excludeClassId != null && clazz.getId().equals(excludeClassId)) {
-                    continue;
-                }
-
-                if (hasTimeConflict(clazz.getSchedule(), day, startTime, endTime)) {
+            for (Long classId : conflictIds) {
+                Class clazz = conflictingClasses.get(classId);
+                if (clazz != null) {
                     Map<String, Object> conflict = new HashMap<>();
                     conflict.put("classId", clazz.getId());
                     conflict.put("classTitle", clazz.getTitle());
@@ -121,75 +135,145 @@ public class ConflictController {
         }
     }
 
-    private boolean hasRoomConflict(String scheduleJson, String targetRoom, String targetDay, 
-                                   String targetStartTime, String targetEndTime) {
+    // Checks a whole proposed weekly schedule at once: every slot against existing classes
+    // (room and, when teacherId is given, teacher) plus the slots of the proposal against each other
+    @PostMapping("/check-batch")
+    public ResponseEntity<Map<String, Object>> checkBatchConflicts(@RequestBody Map<String, Object> request) {
         try {
-            JsonNode schedule = objectMapper.readTree(scheduleJson);
-            JsonNode daySchedule = schedule.get(targetDay.toLowerCase());
-            
-            if (daySchedule == null || !daySchedule.isArray()) {
-                return false;
-            }
+            WeeklySchedule schedule = objectMapper.convertValue(request.get("schedule"), WeeklySchedule.class);
+            List<SlotInterval> slots = ScheduleParser.parse(schedule);
+            Long teacherId = request.get("teacherId") != null ? 
+                Long.valueOf(request.get("teacherId").toString()) : null;
+            Long excludeClassId = request.get("excludeClassId") != null ? 
+                Long.valueOf(request.get("excludeClassId").toString()) : null;
 
-            LocalTime targetStart = LocalTime.parse(targetStartTime, DateTimeFormatter.ofPattern("HH:mm"));
-            LocalTime targetEnd = LocalTime.parse(targetEndTime, DateTimeFormatter.ofPattern("HH:mm"));
+            if (teacherId != null && !teacherRepository.existsById(teacherId)) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Teacher not found");
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
 
-            for (JsonNode timeSlot : daySchedule) {
-                String room = timeSlot.get("room").asText();
-                String startTime = timeSlot.get("start").asText();
-                String endTime = timeSlot.get("end").asText();
+            // Resolve all slots against the index first so the conflicting classes are loaded in one query
+            List<Set<Long>> roomConflictIds = new ArrayList<>();
+            List<Set<Long>> teacherConflictIds = new ArrayList<>();
+            Set<Long> allConflictIds = new HashSet<>();
+            for (SlotInterval slot : slots) {
+                Set<Long> roomIds = scheduleIndex.findRoomConflicts(slot.room(), slot.day(), slot.start(), slot.end(), excludeClassId);
+                Set<Long> teacherIds = teacherId != null ? 
+                    scheduleIndex.findTeacherConflicts(teacherId, slot.day(), slot.start(), slot.end(), excludeClassId) : 
+                    new HashSet<>();
+                roomConflictIds.add(roomIds);
+                teacherConflictIds.add(teacherIds);
+                allConflictIds.addAll(roomIds);
+                allConflictIds.addAll(teacherIds);
+            }
+            Map<Long, Class> conflictingClasses = loadClasses(allConflictIds);
+            List<List<Map<String, Object>>> internalConflicts = findInternalConflicts(slots, teacherId != null);
 
-                // Check if same room
-                if (!room.equalsIgnoreCase(targetRoom)) {
-                    continue;
+            List<Map<String, Object>> slotResults = new ArrayList<>();
+            int conflictCount = 0;
+            for (int i = 0; i < slots.size(); i++) {
+                SlotInterval slot = slots.get(i);
+                List<Map<String, Object>> roomConflicts = new ArrayList<>();
+                for (Long classId : roomConflictIds.get(i)) {
+                    Class clazz = conflictingClasses.get(classId);
+                    if (clazz != null) {
+                        Map<String, Object> conflict = new HashMap<>();
+                        conflict.put("classId", clazz.getId());
+                        conflict.put("classTitle", clazz.getTitle());
+                        conflict.put("teacherName", clazz.getTeacher() != null ? clazz.getTeacher().getName() : "Unknown");
+                        roomConflicts.add(conflict);
+                    }
                 }
-
-                LocalTime slotStart = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
-                LocalTime slotEnd = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-                // Check for time overlap
-                if (targetStart.isBefore(slotEnd) && targetEnd.isAfter(slotStart)) {
-                    return true;
+                List<Map<String, Object>> teacherConflicts = new ArrayList<>();
+                for (Long classId : teacherConflictIds.get(i)) {
+                    Class clazz = conflictingClasses.get(classId);
+                    if (clazz != null) {
+                        Map<String, Object> conflict = new HashMap<>();
+                        conflict.put("classId", clazz.getId());
+                        conflict.put("classTitle", clazz.getTitle());
+                        teacherConflicts.add(conflict);
+                    }
                 }
+
+                Map<String, Object> slotResult = new HashMap<>();
+                slotResult.put("day", ScheduleParser.dayName(slot.day()));
+                slotResult.put("startTime", ScheduleParser.formatMinutes(slot.start()));
+                slotResult.put("endTime", ScheduleParser.formatMinutes(slot.end()));
+                slotResult.put("room", slot.room());
+                slotResult.put("roomConflicts", roomConflicts);
+                slotResult.put("teacherConflicts", teacherConflicts);
+                slotResult.put("internalConflicts", internalConflicts.get(i));
+                slotResult.put("hasConflict", !roomConflicts.isEmpty() || !teacherConflicts.isEmpty() || !internalConflicts.get(i).isEmpty());
+                slotResults.add(slotResult);
+                conflictCount += roomConflicts.size() + teacherConflicts.size() + internalConflicts.get(i).size();
             }
 
-            return false;
+            Map<String, Object> response = new HashMap<>();
+            response.put("hasConflict", conflictCount > 0);
+            response.put("slots", slotResults);
+            response.put("message", conflictCount == 0 ? 
+                "Schedule is available" : 
+                "Schedule has " + conflictCount + " conflict(s)");
+
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Error parsing schedule for room conflict: " + e.getMessage());
-            return false;
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Error checking schedule conflicts: " + e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         }
     }
 
-    private boolean hasTimeConflict(String scheduleJson, String targetDay, 
-                                   String targetStartTime, String targetEndTime) {
-        try {
-            JsonNode schedule = objectMapper.readTree(scheduleJson);
-            JsonNode daySchedule = schedule.get(targetDay.toLowerCase());
-            
-            if (daySchedule == null || !daySchedule.isArray()) {
-                return false;
-            }
-
-            LocalTime targetStart = LocalTime.parse(targetStartTime, DateTimeFormatter.ofPattern("HH:mm"));
-            LocalTime targetEnd = LocalTime.parse(targetEndTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-            for (JsonNode timeSlot : daySchedule) {
-                String startTime = timeSlot.get("start").asText();
-                String endTime = timeSlot.get("end").asText();
-
-                LocalTime slotStart = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
-                LocalTime slotEnd = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
+    // Overlaps between slots of the same proposal, found by a sweep over the slots sorted by (day, start).
+    // Two overlapping slots clash on the room when they share it, and always on the teacher when one is set.
+    private List<List<Map<String, Object>>> findInternalConflicts(List<SlotInterval> slots, boolean checkTeacher) {
+        List<List<Map<String, Object>>> result = new ArrayList<>();
+        for (int i = 0; i < slots.size(); i++) {
+            result.add(new ArrayList<>());
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < slots.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingInt(i -> slots.get(i).day()).thenComparingInt(i -> slots.get(i).start()));
 
-                // Check for time overlap
-                if (targetStart.isBefore(slotEnd) && targetEnd.isAfter(slotStart)) {
-                    return true;
+        for (int a = 0; a < order.size(); a++) {
+            SlotInterval first = slots.get(order.get(a));
+            for (int b = a + 1; b < order.size(); b++) {
+                SlotInterval second = slots.get(order.get(b));
+                if (second.day() != first.day() || second.start() >= first.end()) {
+                    break;
+                }
+                boolean sameRoom = ScheduleParser.roomKey(first.room()).equals(ScheduleParser.roomKey(second.room()));
+                if (sameRoom) {
+                    result.get(order.get(a)).add(internalConflict("room", order.get(b), second));
+                    result.get(order.get(b)).add(internalConflict("room", order.get(a), first));
+                }
+                if (checkTeacher) {
+                    result.get(order.get(a)).add(internalConflict("teacher", order.get(b), second));
+                    result.get(order.get(b)).add(internalConflict("teacher", order.get(a), first));
                 }
             }
+        }
+        return result;
+    }
 
-            return false;
-        } catch (Exception e) {
-            System.err.println("Error parsing schedule for time conflict: " + e.getMessage());
-            return false;
+    private Map<String, Object> internalConflict(String type, int slotIndex, SlotInterval other) {
+        Map<String, Object> conflict = new HashMap<>();
+        conflict.put("type", type);
+        conflict.put("slotIndex", slotIndex);
+        conflict.put("day", ScheduleParser.dayName(other.day()));
+        conflict.put("startTime", ScheduleParser.formatMinutes(other.start()));
+        conflict.put("endTime", ScheduleParser.formatMinutes(other.end()));
+        conflict.put("room", other.room());
+        return conflict;
+    }
+
+    private Map<Long, Class> loadClasses(Set<Long> classIds) {
+        if (classIds.isEmpty()) {
+            return new HashMap<>();
         }
+        return classRepository.findAllById(classIds).stream()
+            .collect(Collectors.toMap(Class::getId, c -> c));
     }
-}
\ No newline at end of file
+}
@@ -1,27 +1,39 @@
 package com.billieonsite.studentmanagement.controller;
 
+import com.billieonsite.studentmanagement.dashboard.EnrollmentChangedEvent;
 import com.billieonsite.studentmanagement.dto.EnrollmentDto;
+import com.billieonsite.studentmanagement.enrollment.EnrollmentCounters;
+import com.billieonsite.studentmanagement.logging.SampledLogger;
 import com.billieonsite.studentmanagement.model.Enrollment;
 import com.billieonsite.studentmanagement.model.Student;
 import com.billieonsite.studentmanagement.model.Class;
 import com.billieonsite.studentmanagement.repository.EnrollmentRepository;
 import com.billieonsite.studentmanagement.repository.StudentRepository;
 import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.schedule.ScheduleConstraints;
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/enrollments")
 public class EnrollmentController {
 
+    private static final SampledLogger scheduleConflict = SampledLogger.of("schedule-conflict", 20, Duration.ofSeconds(10));
+
     @Autowired
     private EnrollmentRepository enrollmentRepository;
     
@@ -30,101 +42,60 @@ public class EnrollmentController {
     
     @Autowired
     private ClassRepository classRepository;
+    
+    @Autowired
+    private ScheduleConstraints scheduleConstraints;
+    
+    @Autowired
+    private EnrollmentCounters enrollmentCounters;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @GetMapping
-    public ResponseEntity<List<EnrollmentDto>> getAllEnrollments() {
-        List<Enrollment> enrollments = enrollmentRepository.findAll();
-        List<EnrollmentDto> enrollmentDtos = enrollments.stream()
-            .map(enrollment -> new EnrollmentDto(
-                enrollment.getId(),
-                enrollment.getStudent().getId(),
-                enrollment.getClassEntity().getId(),
-                enrollment.getStudent().getName(),
-                enrollment.getStudent().getEmail(),
-                enrollment.getClassEntity().getTitle(),
-                enrollment.getClassEntity().getTeacher() != null ? enrollment.getClassEntity().getTeacher().getName() : null,
-                enrollment.getDay(),
-                enrollment.getStartTime(),
-                enrollment.getEndTime(),
-                enrollment.getRoom()
-            ))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(enrollmentDtos);
+    public ResponseEntity<List<EnrollmentDto>> getAllEnrollments(@RequestParam(required = false) Long studentId,
+                                                                 @RequestParam(required = false) Long classId,
+                                                                 @RequestParam(required = false) String day,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(required = false) Integer limit) {
+        String dayFilter = null;
+        if (day != null) {
+            int dayIndex = ScheduleParser.dayIndex(day);
+            if (dayIndex < 0) {
+                throw new IllegalArgumentException("Invalid day: " + day);
+            }
+            dayFilter = ScheduleParser.dayName(dayIndex);
+        }
+        Slice<EnrollmentDto> enrollments = enrollmentRepository.findDtoSlice(
+            KeysetPaging.after(after), studentId, classId, dayFilter, KeysetPaging.pageable(limit));
+        return KeysetPaging.ok(enrollments, EnrollmentDto::getId);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EnrollmentDto> getEnrollmentById(@PathVariable Long id) {
-        Optional<Enrollment> enrollment = enrollmentRepository.findById(id);
+        Optional<EnrollmentDto> enrollment = enrollmentRepository.findDtoById(id);
         if (enrollment.isPresent()) {
-            Enrollment e = enrollment.get();
-            EnrollmentDto enrollmentDto = new EnrollmentDto(
-                e.getId(),
-                e.getStudent().getId(),
-                e.getClassEntity().getId(),
-                e.getStudent().getName(),
-                e.getStudent().getEmail(),
-                e.getClassEntity().getTitle(),
-                e.getClassEntity().getTeacher() != null ? e.getClassEntity().getTeacher().getName() : null,
-                e.getDay(),
-                e.getStartTime(),
-                e.getEndTime(),
-                e.getRoom()
-            );
-            return ResponseEntity.ok(enrollmentDto);
+            return ResponseEntity.ok(enrollment.get());
         }
         return ResponseEntity.notFound().build();
     }
 
     @GetMapping("/student/{studentId}")
     public ResponseEntity<List<EnrollmentDto>> getEnrollmentsByStudent(@PathVariable Long studentId) {
-        Optional<Student> student = studentRepository.findById(studentId);
-        if (!student.isPresent()) {
+        if (!studentRepository.existsById(studentId)) {
             return ResponseEntity.notFound().build();
         }
         
-        List<Enrollment> enrollments = enrollmentRepository.findByStudent(student.get());
-        List<EnrollmentDto> enrollmentDtos = enrollments.stream()
-            .map(enrollment -> new EnrollmentDto(
-                enrollment.getId(),
-                enrollment.getStudent().getId(),
-                enrollment.getClassEntity().getId(),
-                enrollment.getStudent().getName(),
-                enrollment.getStudent().getEmail(),
-                enrollment.getClassEntity().getTitle(),
-                enrollment.getClassEntity().getTeacher() != null ? enrollment.getClassEntity().getTeacher().getName() : null,
-                enrollment.getDay(),
-                enrollment.getStartTime(),
-                enrollment.getEndTime(),
-                enrollment.getRoom()
-            ))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(enrollmentDtos);
+        return ResponseEntity.ok(enrollmentRepository.findDtosByStudentId(studentId));
     }
 
     @GetMapping("/class/{classId}")
     public ResponseEntity<List<EnrollmentDto>> getEnrollmentsByClass(@PathVariable Long classId) {
-        Optional<Class> clazz = classRepository.findById(classId);
-        if (!clazz.isPresent()) {
+        if (!classRepository.existsById(classId)) {
             return ResponseEntity.notFound().build();
         }
         
-        List<Enrollment> enrollments = enrollmentRepository.findByClassEntity(clazz.get());
-        List<EnrollmentDto> enrollmentDtos = enrollments.stream()
-            .map(enrollment -> new EnrollmentDto(
-                enrollment.getId(),
-                enrollment.getStudent().getId(),
-                enrollment.getClassEntity().getId(),
-                enrollment.getStudent().getName(),
-                enrollment.getStudent().getEmail(),
-                enrollment.getClassEntity().getTitle(),
-                enrollment.getClassEntity().getTeacher() != null ? enrollment.getClassEntity().getTeacher().getName() : null,
-                enrollment.getDay(),
-                enrollment.getStartTime(),
-                enrollment.getEndTime(),
-                enrollment.getRoom()
-            ))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(enrollmentDtos);
+        return ResponseEntity.ok(enrollmentRepository.findDtosByClassId(classId));
     }
 
     @PostMapping
@@ -132,20 +103,22 @@ public class EnrollmentController {
     public ResponseEntity<?> createEnrollment(@Valid @RequestBody EnrollmentDto enrollmentDto) {
         // Basic entity validation
         Optional<Student> student = studentRepository.findById(enrollmentDto.getStudentId());
-        Optional<Class> clazz = classRepository.findById(enrollmentDto.getClassId());
-        
         if (!student.isPresent()) {
             return ResponseEntity.badRequest().body("Student not found with ID: " + enrollmentDto.getStudentId());
         }
         
+        Optional<Class> clazz = classRepository.findById(enrollmentDto.getClassId());
         if (!clazz.isPresent()) {
             return ResponseEntity.badRequest().body("Class not found with ID: " + enrollmentDto.getClassId());
         }
         
         // Check for time conflicts (overlapping time slots on the same day)
-        // This is the only check we need - database constraint will handle exact duplicates
-        if (enrollmentRepository.hasTimeConflict(student.get(), enrollmentDto.getDay(), 
+        // Skipped when the database exclusion constraint rejects overlaps itself, which also
+        // closes the race between two concurrent requests of the same student
+        if (!scheduleConstraints.isStudentOverlapEnforced() && 
+            enrollmentRepository.hasTimeConflict(student.get(), enrollmentDto.getDay(), 
                 enrollmentDto.getStartTime(), enrollmentDto.getEndTime())) {
+            logConflict(enrollmentDto, "student-overlap");
             return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body("Schedule conflict: Student has an overlapping time slot on " + enrollmentDto.getDay());
         }
@@ -156,6 +129,8 @@ public class EnrollmentController {
                 enrollmentDto.getDay(), enrollmentDto.getStartTime(), 
                 enrollmentDto.getEndTime(), enrollmentDto.getRoom());
             Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+            enrollmentCounters.enrolled(savedEnrollment);
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(clazz.get().getId(), teacherId(clazz.get()), false));
             
             EnrollmentDto responseDto = new EnrollmentDto(
                 savedEnrollment.getId(),
@@ -175,7 +150,16 @@ public class EnrollmentController {
             
         } catch (Exception e) {
             // Handle database constraint violations (like duplicate enrollments)
+            if (e instanceof DataIntegrityViolationException && 
+                ScheduleConstraints.isStudentOverlap((DataIntegrityViolationException) e)) {
+                markRollbackOnly();
+                logConflict(enrollmentDto, "student-overlap");
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Schedule conflict: Student has an overlapping time slot on " + enrollmentDto.getDay());
+            }
             if (e.getMessage().contains("unique constraint") || e.getMessage().contains("duplicate key")) {
+                markRollbackOnly();
+                logConflict(enrollmentDto, "duplicate");
                 return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body("Student already enrolled in this exact time slot");
             }
@@ -184,14 +168,42 @@ public class EnrollmentController {
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<String> deleteEnrollment(@PathVariable Long id) {
-        if (enrollmentRepository.existsById(id)) {
-            enrollmentRepository.deleteById(id);
+        Optional<Enrollment> enrollment = enrollmentRepository.findById(id);
+        if (enrollment.isPresent()) {
+            Class clazz = enrollment.get().getClassEntity();
+            enrollmentRepository.delete(enrollment.get());
+            // The counters check the remaining enrollments, so the row must be gone first
+            enrollmentRepository.flush();
+            enrollmentCounters.unenrolled(enrollment.get());
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(clazz.getId(), teacherId(clazz), true));
             return ResponseEntity.ok("Enrollment deleted successfully");
         }
         return ResponseEntity.notFound().build();
     }
 
+    private static Long teacherId(Class clazz) {
+        return clazz.getTeacher() != null ? clazz.getTeacher().getId() : null;
+    }
+
+    // The failed insert has already doomed the transaction; marking it here turns the commit
+    // into a silent rollback instead of an UnexpectedRollbackException after the 409 is built
+    private void markRollbackOnly() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
+    private void logConflict(EnrollmentDto enrollmentDto, String reason) {
+        scheduleConflict.atInfo().setMessage("Enrollment refused")
+            .addKeyValue("reason", reason)
+            .addKeyValue("studentId", enrollmentDto.getStudentId())
+            .addKeyValue("classId", enrollmentDto.getClassId())
+            .addKeyValue("day", enrollmentDto.getDay())
+            .log();
+    }
+
     // Removed outdated deletion endpoint that doesn't work with time slot-based enrollments
     // Use DELETE /{id} instead to delete specific enrollment records
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.billieonsite.studentmanagement.controller;
+
+import com.billieonsite.studentmanagement.dto.EnrollmentRow;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.EnrollmentRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final String[] CSV_HEADER = {
+        "id", "studentId", "studentName", "studentEmail", "classId", "classTitle",
+        "teacherName", "day", "startTime", "endTime", "room"
+    };
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private ClassRepository classRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // The servlet container owns the response stream, so the generator must not close it
+    private final JsonFactory jsonFactory = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    // Streams every enrollment, or one class roster with classId, row by row from a database
+    // cursor straight into the response, so memory use does not grow with the row count
+    @GetMapping("/enrollments")
+    public ResponseEntity<?> exportEnrollments(@RequestParam(defaultValue = "ndjson") String format,
+                                               @RequestParam(required = false) Long classId) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "format must be ndjson or csv");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (classId != null && !classRepository.existsById(classId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            // The body is written after the handler has returned, on an async thread, so it opens its own
+            // read-only transaction; the cursor behind the stream lives exactly as long as that transaction
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<EnrollmentRow> rows = enrollmentRepository.streamRows(classId)) {
+                    if (csv) {
+                        writeCsv(rows.iterator(), out);
+                    } else {
+                        writeNdjson(rows.iterator(), out);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+
+        String filename = (classId != null ? "class-" + classId + "-roster" : "enrollments") + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+            .contentType(csv ? CSV : NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    // One JSON object per line, written field by field with the streaming generator
+    private void writeNdjson(Iterator<EnrollmentRow> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                EnrollmentRow row = rows.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.id());
+                generator.writeNumberField("studentId", row.studentId());
+                generator.writeStringField("studentName", row.studentName());
+                generator.writeStringField("studentEmail", row.studentEmail());
+                generator.writeNumberField("classId", row.classId());
+                generator.writeStringField("classTitle", row.classTitle());
+                generator.writeStringField("teacherName", row.teacherName());
+                generator.writeStringField("day", row.day());
+                generator.writeStringField("startTime", row.startTime());
+                generator.writeStringField("endTime", row.endTime());
+                generator.writeStringField("room", row.room());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<EnrollmentRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, (Object[]) CSV_HEADER);
+        while (rows.hasNext()) {
+            EnrollmentRow row = rows.next();
+            writeCsvLine(writer, row.id(), row.studentId(), row.studentName(), row.studentEmail(),
+                row.classId(), row.classTitle(), row.teacherName(), row.day(), row.startTime(),
+                row.endTime(), row.room());
+        }
+        writer.flush();
+    }
+
+    // RFC 4180: fields holding a comma, quote or line break are quoted, with quotes doubled
+    private static void writeCsvLine(Writer writer, Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = fields[i] != null ? fields[i].toString() : "";
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
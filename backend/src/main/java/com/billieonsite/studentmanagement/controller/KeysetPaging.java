@@ -0,0 +1,69 @@
+package com.billieonsite.studentmanagement.controller;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Keyset paging shared by the list endpoints: ?after=<cursor>&limit=<n> returns the rows with
+// an id above the cursor, in id order, and X-Next-Cursor carries the cursor of the next page.
+// Each page is an index range scan from the cursor, so deep pages cost the same as the first.
+// Without a limit the whole (filtered) list is returned, as before paging existed.
+final class KeysetPaging {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_LIMIT = 500;
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private KeysetPaging() {}
+
+    // Invalid values throw IllegalArgumentException, which GlobalExceptionHandler turns into a 400
+    static Pageable pageable(Integer limit) {
+        if (limit == null) {
+            return Pageable.unpaged();
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return PageRequest.of(0, limit);
+    }
+
+    // Accepts the opaque X-Next-Cursor value and, for hand-written requests, a plain id
+    static long after(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            if (cursor.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(cursor);
+            }
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the invalid cursor error (NumberFormatException included)
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    static String cursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Slice<T> slice, ToLongFunction<T> idOf) {
+        List<T> content = slice.getContent();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.hasNext() && !content.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER, cursor(idOf.applyAsLong(content.get(content.size() - 1))));
+        }
+        return response.body(content);
+    }
+}
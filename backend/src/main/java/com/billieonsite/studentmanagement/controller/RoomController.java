@@ -0,0 +1,131 @@
+package com.billieonsite.studentmanagement.controller;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.schedule.RoomOccupancyMap;
+import com.billieonsite.studentmanagement.schedule.ScheduleIndex;
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/rooms")
+public class RoomController {
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private RoomOccupancyMap roomOccupancyMap;
+
+    @Autowired
+    private ScheduleIndex scheduleIndex;
+
+    // Rooms free for the whole window, best fit first: the room whose free stretch around the
+    // window wastes the fewest minutes comes first, keeping long free stretches for long bookings
+    @GetMapping("/free")
+    public ResponseEntity<Map<String, Object>> findFreeRooms(@RequestParam String day,
+                                                             @RequestParam String start,
+                                                             @RequestParam String end) {
+        int dayIndex = ScheduleParser.dayIndex(day);
+        int startMinutes;
+        int endMinutes;
+        try {
+            startMinutes = ScheduleParser.toMinutes(start);
+            endMinutes = ScheduleParser.toMinutes(end);
+        } catch (DateTimeParseException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Times must use HH:mm format");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (dayIndex < 0 || startMinutes >= endMinutes) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", dayIndex < 0 ? "Invalid day: " + day : "Start time must be before end time");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        List<Map<String, Object>> freeRooms = new ArrayList<>();
+        for (String room : roomOccupancyMap.rooms()) {
+            // A bitmap hit can be a bucket-rounding artefact for off-grid times, so confirm it with the index
+            if (!roomOccupancyMap.isFree(room, dayIndex, startMinutes, endMinutes) && 
+                !scheduleIndex.findRoomConflicts(room, dayIndex, startMinutes, endMinutes, null).isEmpty()) {
+                continue;
+            }
+            RoomOccupancyMap.Gap gap = roomOccupancyMap.freeGapAround(room, dayIndex, startMinutes, endMinutes);
+            int freeFrom = Math.min(gap.start(), startMinutes);
+            int freeUntil = Math.max(gap.end(), endMinutes);
+
+            Map<String, Object> freeRoom = new HashMap<>();
+            freeRoom.put("room", room);
+            freeRoom.put("freeFrom", ScheduleParser.formatMinutes(freeFrom));
+            freeRoom.put("freeUntil", ScheduleParser.formatMinutes(freeUntil));
+            freeRoom.put("slackMinutes", (startMinutes - freeFrom) + (freeUntil - endMinutes));
+            freeRooms.add(freeRoom);
+        }
+        freeRooms.sort(Comparator.<Map<String, Object>>comparingInt(r -> (Integer) r.get("slackMinutes"))
+            .thenComparing(r -> (String) r.get("room")));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("day", ScheduleParser.dayName(dayIndex));
+        response.put("start", start);
+        response.put("end", end);
+        response.put("rooms", freeRooms);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{room}/availability")
+    public ResponseEntity<Map<String, Object>> getAvailability(@PathVariable String room,
+                                                               @RequestParam String day,
+                                                               @RequestParam String from,
+                                                               @RequestParam String to) {
+        int dayIndex = ScheduleParser.dayIndex(day);
+        int start;
+        int end;
+        try {
+            start = ScheduleParser.toMinutes(from);
+            end = ScheduleParser.toMinutes(to);
+        } catch (DateTimeParseException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Times must use HH:mm format");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (dayIndex < 0 || start >= end) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", dayIndex < 0 ? "Invalid day: " + day : "Start time must be before end time");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        boolean available = roomOccupancyMap.isFree(room, dayIndex, start, end);
+        List<Map<String, Object>> conflicts = new ArrayList<>();
+        if (!available) {
+            // Bitmap hits are rounded to 5-minute buckets; the index gives the exact overlapping classes
+            Set<Long> conflictIds = scheduleIndex.findRoomConflicts(room, dayIndex, start, end, null);
+            for (Class clazz : classRepository.findAllById(conflictIds)) {
+                Map<String, Object> conflict = new HashMap<>();
+                conflict.put("classId", clazz.getId());
+                conflict.put("classTitle", clazz.getTitle());
+                conflict.put("teacherName", clazz.getTeacher() != null ? clazz.getTeacher().getName() : "Unknown");
+                conflicts.add(conflict);
+            }
+            available = conflicts.isEmpty();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("room", ScheduleParser.roomKey(room));
+        response.put("day", ScheduleParser.dayName(dayIndex));
+        response.put("from", from);
+        response.put("to", to);
+        response.put("available", available);
+        response.put("conflicts", conflicts);
+        return ResponseEntity.ok(response);
+    }
+}
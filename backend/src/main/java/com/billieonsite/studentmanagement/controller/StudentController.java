@@ -5,19 +5,23 @@ import com.billieonsite.studentmanagement.model.Student;
 import com.billieonsite.studentmanagement.model.User;
 import com.billieonsite.studentmanagement.repository.StudentRepository;
 import com.billieonsite.studentmanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
 
+    private static final Logger log = LoggerFactory.getLogger(StudentController.class);
+
     @Autowired
     private StudentRepository studentRepository;
     
@@ -25,21 +29,22 @@ public class StudentController {
     private UserRepository userRepository;
 
     @GetMapping
-    public ResponseEntity<List<StudentDto>> getAllStudents() {
-        List<Student> students = studentRepository.findAll();
-        System.out.println("=== All Students ===");
-        students.forEach(s -> System.out.println("Student ID: " + s.getId() + ", User ID: " + 
-            (s.getUser() != null ? s.getUser().getId() : "null") + ", Name: " + s.getName()));
-        List<StudentDto> studentDtos = students.stream()
+    public ResponseEntity<List<StudentDto>> getAllStudents(@RequestParam(required = false) String after,
+                                                           @RequestParam(required = false) Integer limit) {
+        Slice<Student> page = studentRepository.findSlice(KeysetPaging.after(after), KeysetPaging.pageable(limit));
+        log.atDebug().setMessage("Students listed")
+            .addKeyValue("after", after)
+            .addKeyValue("count", page.getNumberOfElements())
+            .log();
+        Slice<StudentDto> students = page
             .map(student -> new StudentDto(
                 student.getId(),
                 student.getName(),
                 student.getEmail(),
                 student.getUser() != null ? student.getUser().getId() : null,
                 student.getUser() != null ? student.getUser().getUsername() : null
-            ))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(studentDtos);
+            ));
+        return KeysetPaging.ok(students, StudentDto::getId);
     }
 
     @GetMapping("/{id}")
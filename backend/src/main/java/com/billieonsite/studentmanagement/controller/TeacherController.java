@@ -1,16 +1,29 @@
 package com.billieonsite.studentmanagement.controller;
 
+import com.billieonsite.studentmanagement.catalog.CatalogVersions;
+import com.billieonsite.studentmanagement.catalog.TeacherChangedEvent;
+import com.billieonsite.studentmanagement.dashboard.TeacherDashboardCache;
+import com.billieonsite.studentmanagement.dto.TeacherDashboardDto;
 import com.billieonsite.studentmanagement.dto.TeacherDto;
 import com.billieonsite.studentmanagement.model.Teacher;
 import com.billieonsite.studentmanagement.model.User;
 import com.billieonsite.studentmanagement.repository.TeacherRepository;
 import com.billieonsite.studentmanagement.repository.UserRepository;
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
+import com.billieonsite.studentmanagement.schedule.TeacherAvailabilityCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,20 +36,38 @@ public class TeacherController {
     
     @Autowired
     private UserRepository userRepository;
+    
+    @Autowired
+    private TeacherAvailabilityCache teacherAvailabilityCache;
+    
+    @Autowired
+    private TeacherDashboardCache teacherDashboardCache;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @GetMapping
-    public ResponseEntity<List<TeacherDto>> getAllTeachers() {
-        List<Teacher> teachers = teacherRepository.findAll();
-        List<TeacherDto> teacherDtos = teachers.stream()
+    public ResponseEntity<List<TeacherDto>> getAllTeachers(@RequestParam(required = false) String after,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           WebRequest webRequest) {
+        // An unchanged list is answered from the version counter alone
+        String etag = catalogVersions.teachersETag();
+        if (webRequest.checkNotModified(etag)) {
+            return ConditionalGet.notModified();
+        }
+        
+        Slice<TeacherDto> teachers = teacherRepository.findSlice(KeysetPaging.after(after), KeysetPaging.pageable(limit))
             .map(teacher -> new TeacherDto(
                 teacher.getId(),
                 teacher.getName(),
                 teacher.getSubject(),
                 teacher.getUser() != null ? teacher.getUser().getId() : null,
                 teacher.getUser() != null ? teacher.getUser().getUsername() : null
-            ))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(teacherDtos);
+            ));
+        return ConditionalGet.withETag(KeysetPaging.ok(teachers, TeacherDto::getId), etag);
     }
 
     @GetMapping("/{id}")
@@ -56,6 +87,63 @@ public class TeacherController {
         return ResponseEntity.notFound().build();
     }
 
+    // Classes with their distinct enrolled students and the teacher's distinct student total
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<TeacherDashboardDto> getDashboard(@PathVariable Long id) {
+        Optional<Teacher> teacher = teacherRepository.findById(id);
+        if (!teacher.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(teacherDashboardCache.get(teacher.get()));
+    }
+
+    // Free time of the teacher per day, in the same day -> [{start, end}] shape as class schedules
+    @GetMapping("/{id}/free-slots")
+    public ResponseEntity<Map<String, Object>> getFreeSlots(@PathVariable Long id,
+                                                            @RequestParam(defaultValue = "0") int minDuration,
+                                                            @RequestParam(required = false) List<String> days) {
+        Optional<Teacher> teacher = teacherRepository.findById(id);
+        if (!teacher.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        List<Integer> dayIndexes = new ArrayList<>();
+        if (days == null || days.isEmpty()) {
+            for (int day = 0; day < ScheduleParser.DAYS.length; day++) {
+                dayIndexes.add(day);
+            }
+        } else {
+            for (String day : days) {
+                int dayIndex = ScheduleParser.dayIndex(day);
+                if (dayIndex < 0) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", "Invalid day: " + day);
+                    return ResponseEntity.badRequest().body(error);
+                }
+                dayIndexes.add(dayIndex);
+            }
+        }
+        
+        Map<String, List<Map<String, String>>> freeSlots = new LinkedHashMap<>();
+        for (int day : dayIndexes) {
+            List<Map<String, String>> slots = new ArrayList<>();
+            for (TeacherAvailabilityCache.Range range : teacherAvailabilityCache.freeRanges(teacher.get(), day, minDuration)) {
+                Map<String, String> slot = new HashMap<>();
+                slot.put("start", ScheduleParser.formatMinutes(range.start()));
+                slot.put("end", ScheduleParser.formatMinutes(range.end()));
+                slots.add(slot);
+            }
+            freeSlots.put(ScheduleParser.dayName(day), slots);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("teacherId", teacher.get().getId());
+        response.put("teacherName", teacher.get().getName());
+        response.put("minDuration", minDuration);
+        response.put("freeSlots", freeSlots);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/subject/{subject}")
     public ResponseEntity<List<TeacherDto>> getTeachersBySubject(@PathVariable String subject) {
         List<Teacher> teachers = teacherRepository.findBySubject(subject);
@@ -83,6 +171,7 @@ public class TeacherController {
         }
 
         Teacher savedTeacher = teacherRepository.save(teacher);
+        eventPublisher.publishEvent(TeacherChangedEvent.saved(savedTeacher.getId()));
         
         TeacherDto responseDto = new TeacherDto(
             savedTeacher.getId(),
@@ -117,6 +206,7 @@ public class TeacherController {
         }
 
         Teacher updatedTeacher = teacherRepository.save(teacher);
+        eventPublisher.publishEvent(TeacherChangedEvent.saved(updatedTeacher.getId()));
         
         TeacherDto responseDto = new TeacherDto(
             updatedTeacher.getId(),
@@ -133,6 +223,7 @@ public class TeacherController {
     public ResponseEntity<String> deleteTeacher(@PathVariable Long id) {
         if (teacherRepository.existsById(id)) {
             teacherRepository.deleteById(id);
+            eventPublisher.publishEvent(TeacherChangedEvent.deleted(id));
             return ResponseEntity.ok("Teacher deleted successfully");
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,71 @@
+package com.billieonsite.studentmanagement.controller;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
+import com.billieonsite.studentmanagement.schedule.TimetableAuditor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/timetable")
+public class TimetableAdminController {
+
+    @Autowired
+    private TimetableAuditor timetableAuditor;
+
+    @PostMapping("/audit")
+    public ResponseEntity<Map<String, Object>> auditTimetable() {
+        long startNanos = System.nanoTime();
+        TimetableAuditor.AuditReport report = timetableAuditor.audit();
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        
+        List<Map<String, Object>> conflicts = new ArrayList<>();
+        for (TimetableAuditor.Overlap overlap : report.overlaps()) {
+            Class first = report.classesById().get(overlap.firstClassId());
+            Class second = report.classesById().get(overlap.secondClassId());
+            
+            Map<String, Object> conflict = new HashMap<>();
+            conflict.put("type", overlap.type());
+            if (TimetableAuditor.ROOM.equals(overlap.type())) {
+                conflict.put("room", overlap.key());
+            } else {
+                conflict.put("teacherId", Long.valueOf(overlap.key()));
+                conflict.put("teacherName", first.getTeacher() != null ? first.getTeacher().getName() : "Unknown");
+            }
+            conflict.put("day", ScheduleParser.dayName(overlap.day()));
+            conflict.put("startTime", ScheduleParser.formatMinutes(overlap.start()));
+            conflict.put("endTime", ScheduleParser.formatMinutes(overlap.end()));
+            conflict.put("classes", List.of(classSummary(first), classSummary(second)));
+            conflicts.add(conflict);
+        }
+        
+        List<Map<String, Object>> invalidSchedules = new ArrayList<>();
+        for (Class clazz : report.invalidSchedules()) {
+            invalidSchedules.add(classSummary(clazz));
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("consistent", conflicts.isEmpty() && invalidSchedules.isEmpty());
+        response.put("classesScanned", report.classCount());
+        response.put("slotsScanned", report.slotCount());
+        response.put("conflictCount", conflicts.size());
+        response.put("conflicts", conflicts);
+        response.put("invalidSchedules", invalidSchedules);
+        response.put("durationMs", durationMs);
+        return ResponseEntity.ok(response);
+    }
+    
+    private Map<String, Object> classSummary(Class clazz) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("classId", clazz.getId());
+        summary.put("classTitle", clazz.getTitle());
+        summary.put("teacherName", clazz.getTeacher() != null ? clazz.getTeacher().getName() : "Unknown");
+        return summary;
+    }
+}
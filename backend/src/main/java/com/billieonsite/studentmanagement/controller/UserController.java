@@ -1,11 +1,15 @@
 package com.billieonsite.studentmanagement.controller;
 
+import com.billieonsite.studentmanagement.catalog.TeacherChangedEvent;
 import com.billieonsite.studentmanagement.dto.UserDto;
 import com.billieonsite.studentmanagement.model.User;
 import com.billieonsite.studentmanagement.model.Role;
 import com.billieonsite.studentmanagement.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.billieonsite.studentmanagement.security.PasswordHasher;
+import com.billieonsite.studentmanagement.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,7 +17,6 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -23,15 +26,23 @@ public class UserController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        List<UserDto> userDtos = users.stream()
-            .map(user -> new UserDto(user.getId(), user.getUsername(), null, user.getRole()))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(userDtos);
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(required = false) String role,
+                                                     @RequestParam(required = false) String after,
+                                                     @RequestParam(required = false) Integer limit) {
+        // An unknown role fails Role.valueOf with IllegalArgumentException, answered with a 400
+        Role roleFilter = role != null ? Role.valueOf(role.toUpperCase()) : null;
+        Slice<UserDto> users = userRepository.findSlice(KeysetPaging.after(after), roleFilter, KeysetPaging.pageable(limit))
+            .map(user -> new UserDto(user.getId(), user.getUsername(), null, user.getRole()));
+        return KeysetPaging.ok(users, UserDto::getId);
     }
 
     @GetMapping("/{id}")
@@ -57,7 +68,7 @@ public class UserController {
 
         User user = new User(
             userDto.getUsername(),
-            passwordEncoder.encode(userDto.getPassword()),
+            passwordHasher.encode(userDto.getPassword()),
             userDto.getRole()
         );
 
@@ -88,13 +99,24 @@ public class UserController {
             return ResponseEntity.badRequest().body("Username already exists");
         }
 
+        // A new password or role revokes the tokens issued under the old ones
+        boolean renamed = !user.getUsername().equals(userDto.getUsername());
+        boolean revoke = user.getRole() != userDto.getRole();
         user.setUsername(userDto.getUsername());
         if (userDto.getPassword() != null && !userDto.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+            user.setPassword(passwordHasher.encode(userDto.getPassword()));
+            revoke = true;
         }
         user.setRole(userDto.getRole());
+        if (revoke) {
+            user.revokeTokens();
+        }
 
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evict(id);
+        if (renamed) {
+            eventPublisher.publishEvent(TeacherChangedEvent.usernameChanged());
+        }
         
         UserDto responseDto = new UserDto(
             updatedUser.getId(),
@@ -119,8 +141,12 @@ public class UserController {
         
         try {
             Role newRole = Role.valueOf(newRoleStr);
+            if (user.getRole() != newRole) {
+                user.revokeTokens();
+            }
             user.setRole(newRole);
             User updatedUser = userRepository.save(user);
+            userPrincipalCache.evict(id);
             
             UserDto responseDto = new UserDto(
                 updatedUser.getId(),
@@ -139,6 +165,7 @@ public class UserController {
     public ResponseEntity<String> deleteUser(@PathVariable Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            userPrincipalCache.evict(id);
             return ResponseEntity.ok("User deleted successfully");
         }
         return ResponseEntity.notFound().build();
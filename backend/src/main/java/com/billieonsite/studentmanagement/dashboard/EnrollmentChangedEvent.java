@@ -0,0 +1,5 @@
+package com.billieonsite.studentmanagement.dashboard;
+
+// Published after an enrollment has been created or deleted; teacherId is the teacher of the
+// class at that time (null for a class without one), so per-teacher views can follow
+public record EnrollmentChangedEvent(Long classId, Long teacherId, boolean deleted) {}
@@ -0,0 +1,128 @@
+package com.billieonsite.studentmanagement.dashboard;
+
+import com.billieonsite.studentmanagement.catalog.TeacherChangedEvent;
+import com.billieonsite.studentmanagement.dto.ClassSummaryDto;
+import com.billieonsite.studentmanagement.dto.TeacherDashboardDto;
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.EnrollmentRepository;
+import com.billieonsite.studentmanagement.schedule.ClassChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Teacher dashboards (classes, distinct students per class, distinct students overall) built from
+// the teacher's classes, which carry their maintained enrolled_count and usually come from the
+// second-level and query caches, plus one distinct count for the total. Kept for a short TTL per
+// teacher and dropped when an enrollment, class or teacher of that dashboard changes; the TTL
+// covers writes made by other instances. The cached DTOs are shared between requests and must not
+// be modified.
+@Component
+public class TeacherDashboardCache {
+
+    public static final String CACHE_NAME = "teacherDashboards";
+    public static final int MAXIMUM_SIZE = 1_000;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dashboard.teacher-cache.ttl:30s}")
+    private Duration ttl;
+
+    private Cache<Long, TeacherDashboardDto> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public TeacherDashboardDto get(Teacher teacher) {
+        return cache.get(teacher.getId(), id -> load(teacher));
+    }
+
+    // After commit, so a dashboard loaded meanwhile cannot be cached with the old counts
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        evict(event.teacherId());
+    }
+
+    @EventListener
+    public void onClassChanged(ClassChangedEvent event) {
+        evict(event.teacherId());
+        evict(event.previousTeacherId());
+    }
+
+    @EventListener
+    public void onTeacherChanged(TeacherChangedEvent event) {
+        evict(event.teacherId());
+    }
+
+    private void evict(Long teacherId) {
+        if (teacherId != null) {
+            cache.invalidate(teacherId);
+        }
+    }
+
+    private TeacherDashboardDto load(Teacher teacher) {
+        List<Class> classes = new ArrayList<>(classRepository.findByTeacher(teacher));
+        classes.sort(Comparator.comparing(Class::getId));
+        List<ClassSummaryDto> summaries = new ArrayList<>(classes.size());
+        for (Class clazz : classes) {
+            summaries.add(new ClassSummaryDto(
+                clazz.getId(),
+                clazz.getTitle(),
+                scheduleJson(clazz),
+                clazz.getEnrolledCount(),
+                teacher.getName()
+            ));
+        }
+
+        TeacherDashboardDto dashboard = new TeacherDashboardDto(teacher.getId(), teacher.getName(), teacher.getSubject());
+        dashboard.setClasses(summaries);
+        dashboard.setTotalClasses(summaries.size());
+        dashboard.setTotalStudents((int) enrollmentRepository.countDistinctStudentsByTeacher(teacher.getId()));
+        return dashboard;
+    }
+
+    // ClassSummaryDto carries the schedule in its stored JSON form
+    private String scheduleJson(Class clazz) {
+        if (clazz.getSchedule() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(clazz.getSchedule());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
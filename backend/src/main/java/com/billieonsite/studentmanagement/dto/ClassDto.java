@@ -3,6 +3,7 @@ package com.billieonsite.studentmanagement.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
 
 public class ClassDto {
     private Long id;
@@ -11,7 +12,7 @@ public class ClassDto {
     private String title;
     
     @JsonProperty("schedule")
-    private Object schedule;
+    private WeeklySchedule schedule;
     
     private String subject;
     
@@ -22,13 +23,13 @@ public class ClassDto {
     
     public ClassDto() {}
     
-    public ClassDto(String title, Object schedule, Long teacherId) {
+    public ClassDto(String title, WeeklySchedule schedule, Long teacherId) {
         this.title = title;
         this.schedule = schedule;
         this.teacherId = teacherId;
     }
     
-    public ClassDto(Long id, String title, Object schedule, Long teacherId, String teacherName) {
+    public ClassDto(Long id, String title, WeeklySchedule schedule, Long teacherId, String teacherName) {
         this.id = id;
         this.title = title;
         this.schedule = schedule;
@@ -36,7 +37,7 @@ public class ClassDto {
         this.teacherName = teacherName;
     }
     
-    public ClassDto(Long id, String title, Object schedule, String subject, Long teacherId, String teacherName) {
+    public ClassDto(Long id, String title, WeeklySchedule schedule, String subject, Long teacherId, String teacherName) {
         this.id = id;
         this.title = title;
         this.schedule = schedule;
@@ -61,11 +62,11 @@ public class ClassDto {
         this.title = title;
     }
     
-    public Object getSchedule() {
+    public WeeklySchedule getSchedule() {
         return schedule;
     }
     
-    public void setSchedule(Object schedule) {
+    public void setSchedule(WeeklySchedule schedule) {
         this.schedule = schedule;
     }
     
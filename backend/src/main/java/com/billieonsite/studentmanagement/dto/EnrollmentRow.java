@@ -0,0 +1,17 @@
+package com.billieonsite.studentmanagement.dto;
+
+// Flat, read-only enrollment row for exports; built by a JPQL constructor expression, so rows
+// never become managed entities and the persistence context stays empty while streaming
+public record EnrollmentRow(
+    Long id,
+    Long studentId,
+    String studentName,
+    String studentEmail,
+    Long classId,
+    String classTitle,
+    String teacherName,
+    String day,
+    String startTime,
+    String endTime,
+    String room
+) {}
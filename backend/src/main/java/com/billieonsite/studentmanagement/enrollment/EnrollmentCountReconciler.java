@@ -0,0 +1,100 @@
+package com.billieonsite.studentmanagement.enrollment;
+
+import com.billieonsite.studentmanagement.model.Class;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Recomputes the counters maintained by EnrollmentCounters from the enrollments table in a few
+// set-based statements, touching only rows that drifted. Run once at startup, which also fills
+// the counters of enrollments made before they existed, and then periodically. A write committing
+// while it runs can leave one counter off until the next run.
+@Component
+public class EnrollmentCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentCountReconciler.class);
+
+    private static final String CLASS_STUDENTS =
+        "(SELECT COUNT(DISTINCT e.student_id) FROM enrollments e WHERE e.class_id = classes.id)";
+
+    private static final String SLOT_ENROLLMENTS =
+        "(SELECT COUNT(*) FROM enrollments e WHERE e.class_id = class_slot_counts.class_id AND e.day = class_slot_counts.day " +
+        "AND e.start_time = class_slot_counts.start_time AND e.end_time = class_slot_counts.end_time)";
+
+    private static final String FIX_CLASSES =
+        "UPDATE classes SET enrolled_count = " + CLASS_STUDENTS + " WHERE enrolled_count <> " + CLASS_STUDENTS;
+
+    private static final String FIX_SLOTS =
+        "UPDATE class_slot_counts SET enrolled_count = " + SLOT_ENROLLMENTS + " WHERE enrolled_count <> " + SLOT_ENROLLMENTS;
+
+    private static final String ADD_SLOTS =
+        "INSERT INTO class_slot_counts (class_id, day, start_time, end_time, enrolled_count) " +
+        "SELECT e.class_id, e.day, e.start_time, e.end_time, COUNT(*) FROM enrollments e " +
+        "WHERE e.class_id IS NOT NULL AND e.day IS NOT NULL AND e.start_time IS NOT NULL AND e.end_time IS NOT NULL " +
+        "AND NOT EXISTS (SELECT 1 FROM class_slot_counts s WHERE s.class_id = e.class_id AND s.day = e.day " +
+        "AND s.start_time = e.start_time AND s.end_time = e.end_time) " +
+        "GROUP BY e.class_id, e.day, e.start_time, e.end_time";
+
+    private static final String DROP_EMPTY_SLOTS =
+        "DELETE FROM class_slot_counts WHERE enrolled_count = 0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.counters.reconcile-interval:PT1H}",
+               initialDelayString = "${enrollment.counters.reconcile-interval:PT1H}")
+    public void reconcile() {
+        try {
+            Result result = new TransactionTemplate(transactionManager).execute(status -> {
+                int classes = jdbcTemplate.update(FIX_CLASSES);
+                int slots = jdbcTemplate.update(FIX_SLOTS) + jdbcTemplate.update(ADD_SLOTS);
+                // Slots emptied by unenrollments are housekeeping, not drift
+                jdbcTemplate.update(DROP_EMPTY_SLOTS);
+                return new Result(classes, slots);
+            });
+            if (result.classes() > 0) {
+                // Cached Class entries carry the old counts
+                entityManagerFactory.getCache().evict(Class.class);
+            }
+            record(result);
+        } catch (RuntimeException e) {
+            log.warn("Enrollment counters not reconciled", e);
+        }
+    }
+
+    private void record(Result result) {
+        meterRegistry.counter("enrollment.counters.corrected", "counter", "class").increment(result.classes());
+        meterRegistry.counter("enrollment.counters.corrected", "counter", "slot").increment(result.slots());
+        if (result.classes() > 0 || result.slots() > 0) {
+            log.atInfo().setMessage("Enrollment counters corrected")
+                .addKeyValue("classes", result.classes())
+                .addKeyValue("slots", result.slots())
+                .log();
+        }
+    }
+
+    private record Result(int classes, int slots) {}
+}
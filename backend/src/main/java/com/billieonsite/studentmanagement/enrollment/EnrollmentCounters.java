@@ -0,0 +1,95 @@
+package com.billieonsite.studentmanagement.enrollment;
+
+import com.billieonsite.studentmanagement.dashboard.EnrollmentChangedEvent;
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Enrollment;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+
+// Keeps classes.enrolled_count (distinct students) and class_slot_counts (enrollments per slot)
+// in step with enrollment writes. Each change is a single UPDATE or upsert run on the caller's
+// connection, so it commits or rolls back with the enrollment, and concurrent writers never lose
+// an increment. The statements go through JDBC rather than Hibernate so they do not invalidate
+// the whole second-level classes region; the one class entry is evicted after commit instead.
+// Two first enrollments of one student into the same class committing at the same moment can
+// both count the student; EnrollmentCountReconciler corrects such drift.
+@Component
+public class EnrollmentCounters {
+
+    private static final String COUNT_STUDENT_IN =
+        "UPDATE classes SET enrolled_count = enrolled_count + 1 WHERE id = ? AND NOT EXISTS " +
+        "(SELECT 1 FROM enrollments WHERE class_id = ? AND student_id = ? AND id <> ?)";
+
+    // Runs after the enrollment row is gone, so NOT EXISTS sees the student's remaining slots
+    private static final String COUNT_STUDENT_OUT =
+        "UPDATE classes SET enrolled_count = enrolled_count - 1 WHERE id = ? AND enrolled_count > 0 AND NOT EXISTS " +
+        "(SELECT 1 FROM enrollments WHERE class_id = ? AND student_id = ?)";
+
+    private static final String UPSERT_SLOT =
+        "INSERT INTO class_slot_counts (class_id, day, start_time, end_time, enrolled_count) VALUES (?, ?, ?, ?, 1) " +
+        "ON CONFLICT (class_id, day, start_time, end_time) DO UPDATE SET enrolled_count = class_slot_counts.enrolled_count + 1";
+
+    private static final String INCREMENT_SLOT =
+        "UPDATE class_slot_counts SET enrolled_count = enrolled_count + 1 " +
+        "WHERE class_id = ? AND day = ? AND start_time = ? AND end_time = ?";
+
+    private static final String INSERT_SLOT =
+        "INSERT INTO class_slot_counts (class_id, day, start_time, end_time, enrolled_count) VALUES (?, ?, ?, ?, 1)";
+
+    private static final String DECREMENT_SLOT =
+        "UPDATE class_slot_counts SET enrolled_count = enrolled_count - 1 " +
+        "WHERE class_id = ? AND day = ? AND start_time = ? AND end_time = ? AND enrolled_count > 0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private volatile Boolean postgres;
+
+    // Call after the enrollment has been inserted, inside its transaction
+    public void enrolled(Enrollment enrollment) {
+        Long classId = enrollment.getClassEntity().getId();
+        jdbcTemplate.update(COUNT_STUDENT_IN, classId, classId, enrollment.getStudent().getId(), enrollment.getId());
+        if (isPostgres()) {
+            jdbcTemplate.update(UPSERT_SLOT, classId, enrollment.getDay(), enrollment.getStartTime(), enrollment.getEndTime());
+        } else if (jdbcTemplate.update(INCREMENT_SLOT, classId, enrollment.getDay(), enrollment.getStartTime(), enrollment.getEndTime()) == 0) {
+            // Without ON CONFLICT (H2 in tests) a concurrent first enrollment of the slot fails on
+            // uk_class_slot_counts_slot and is rolled back rather than miscounted
+            jdbcTemplate.update(INSERT_SLOT, classId, enrollment.getDay(), enrollment.getStartTime(), enrollment.getEndTime());
+        }
+    }
+
+    // Call after the enrollment's delete has been flushed, inside its transaction
+    public void unenrolled(Enrollment enrollment) {
+        Long classId = enrollment.getClassEntity().getId();
+        jdbcTemplate.update(COUNT_STUDENT_OUT, classId, classId, enrollment.getStudent().getId());
+        jdbcTemplate.update(DECREMENT_SLOT, classId, enrollment.getDay(), enrollment.getStartTime(), enrollment.getEndTime());
+    }
+
+    // First among the after-commit listeners, so a dashboard rebuilt right after its own eviction
+    // already reads the new count
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        entityManagerFactory.getCache().evict(Class.class, event.classId());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+package com.billieonsite.studentmanagement.exception;
+
+// Thrown when a bounded worker pool turns work away; GlobalExceptionHandler answers it with a 503
+// and a Retry-After header so clients back off instead of piling more requests on
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,68 @@
+package com.billieonsite.studentmanagement.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.slf4j.spi.NOPLoggingEventBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A logger for events that can arrive thousands of times a second (invalid tokens, schedule
+// conflicts, rate-limited requests): at most `limit` events per `window` are written, the rest are
+// only counted, and the next written event carries that count as suppressed=<n>. Each category
+// gets its own logger name under "events.", so its level can be set in application.properties.
+// One instance per category: of() hands every caller of a category the same logger and budget.
+// Usage: invalidToken.atWarn().setMessage("Invalid JWT").addKeyValue("reason", reason).log();
+public final class SampledLogger {
+
+    private static final Map<String, SampledLogger> categories = new ConcurrentHashMap<>();
+
+    private final Logger logger;
+    private final int limit;
+    private final long windowNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    private SampledLogger(Logger logger, int limit, Duration window) {
+        this.logger = logger;
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+    }
+
+    public static SampledLogger of(String category, int limit, Duration window) {
+        return categories.computeIfAbsent(category,
+            name -> new SampledLogger(LoggerFactory.getLogger("events." + name), limit, window));
+    }
+
+    public LoggingEventBuilder atWarn() {
+        return logger.isWarnEnabled() ? sample(Level.WARN) : NOPLoggingEventBuilder.singleton();
+    }
+
+    public LoggingEventBuilder atInfo() {
+        return logger.isInfoEnabled() ? sample(Level.INFO) : NOPLoggingEventBuilder.singleton();
+    }
+
+    // Suppressed events cost two atomic updates and allocate nothing
+    private LoggingEventBuilder sample(Level level) {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        // A new window: one caller wins the reset, the others count against the new window
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            written.set(0);
+        }
+        if (written.incrementAndGet() > limit) {
+            suppressed.incrementAndGet();
+            return NOPLoggingEventBuilder.singleton();
+        }
+        LoggingEventBuilder event = logger.atLevel(level);
+        long dropped = suppressed.getAndSet(0);
+        return dropped > 0 ? event.addKeyValue("suppressed", dropped) : event;
+    }
+}
@@ -1,15 +1,26 @@
 package com.billieonsite.studentmanagement.model;
 
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 import org.hibernate.type.SqlTypes;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "classes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "classes")
+@Table(name = "classes",
+       indexes = {
+           @Index(name = "idx_classes_subject_id", columnList = "subject, id"),
+           @Index(name = "idx_classes_teacher_id", columnList = "teacher_id, id")
+       })
 public class Class {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,26 +33,47 @@ public class Class {
     @Column
     private String subject;
     
+    // Bumped on every update; ParsedScheduleCache re-parses a schedule when it changes
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+    
+    // Read and written through Hibernate's JSON mapping, so it is parsed once per row load
+    // The dialect maps SqlTypes.JSON to jsonb on PostgreSQL and to H2's JSON type in tests. The
+    // value is immutable, so Hibernate keeps the loaded instance as its dirty-check snapshot instead
+    // of deep-copying it through JSON
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(columnDefinition = "JSONB")
-    private String schedule;
+    @Mutability(Immutability.class)
+    private WeeklySchedule schedule;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
 
+    // Distinct students enrolled, kept by EnrollmentCounters with SQL increments in the enrollment's
+    // own transaction and corrected by EnrollmentCountReconciler; never written through the entity
+    @Column(name = "enrolled_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int enrolledCount;
+
     @OneToMany(mappedBy = "classEntity", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<Enrollment> enrollments = new HashSet<>();
 
+    @OneToMany(mappedBy = "classEntity", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    private Set<ScheduleSlot> scheduleSlots = new HashSet<>();
+
+    @OneToMany(mappedBy = "classEntity", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    private Set<ClassSlotCount> slotCounts = new HashSet<>();
+
     public Class() {}
 
-    public Class(String title, String schedule, Teacher teacher) {
+    public Class(String title, WeeklySchedule schedule, Teacher teacher) {
         this.title = title;
         this.schedule = schedule;
         this.teacher = teacher;
     }
     
-    public Class(String title, String subject, String schedule, Teacher teacher) {
+    public Class(String title, String subject, WeeklySchedule schedule, Teacher teacher) {
         this.title = title;
         this.subject = subject;
         this.schedule = schedule;
@@ -64,6 +96,10 @@ public class Class {
         this.title = title;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getSubject() {
         return subject;
     }
@@ -72,11 +108,11 @@ public class Class {
         this.subject = subject;
     }
 
-    public String getSchedule() {
+    public WeeklySchedule getSchedule() {
         return schedule;
     }
 
-    public void setSchedule(String schedule) {
+    public void setSchedule(WeeklySchedule schedule) {
         this.schedule = schedule;
     }
 
@@ -88,6 +124,14 @@ public class Class {
         this.teacher = teacher;
     }
 
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public void setEnrolledCount(int enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+
     public Set<Enrollment> getEnrollments() {
         return enrollments;
     }
@@ -95,4 +139,20 @@ public class Class {
     public void setEnrollments(Set<Enrollment> enrollments) {
         this.enrollments = enrollments;
     }
+
+    public Set<ScheduleSlot> getScheduleSlots() {
+        return scheduleSlots;
+    }
+
+    public void setScheduleSlots(Set<ScheduleSlot> scheduleSlots) {
+        this.scheduleSlots = scheduleSlots;
+    }
+
+    public Set<ClassSlotCount> getSlotCounts() {
+        return slotCounts;
+    }
+
+    public void setSlotCounts(Set<ClassSlotCount> slotCounts) {
+        this.slotCounts = slotCounts;
+    }
 }
\ No newline at end of file
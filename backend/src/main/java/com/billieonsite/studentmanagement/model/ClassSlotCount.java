@@ -0,0 +1,90 @@
+package com.billieonsite.studentmanagement.model;
+
+import jakarta.persistence.*;
+
+// Enrollments per class time slot, keyed like the enrollments themselves (class, day, start, end).
+// Rows are created and counted by EnrollmentCounters with SQL upserts and increments and corrected
+// by EnrollmentCountReconciler, so the entity is only ever read.
+@Entity
+@Table(name = "class_slot_counts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_class_slot_counts_slot",
+                                             columnNames = {"class_id", "day", "start_time", "end_time"}))
+public class ClassSlotCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "class_id", nullable = false)
+    private Class classEntity;
+    
+    @Column(nullable = false)
+    private String day;
+    
+    @Column(name = "start_time", nullable = false)
+    private String startTime;
+    
+    @Column(name = "end_time", nullable = false)
+    private String endTime;
+    
+    @Column(name = "enrolled_count", nullable = false)
+    private int enrolledCount;
+
+    public ClassSlotCount() {}
+
+    public ClassSlotCount(Class classEntity, String day, String startTime, String endTime, int enrolledCount) {
+        this.classEntity = classEntity;
+        this.day = day;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.enrolledCount = enrolledCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Class getClassEntity() {
+        return classEntity;
+    }
+
+    public void setClassEntity(Class classEntity) {
+        this.classEntity = classEntity;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+    }
+
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+    }
+
+    public int getEnrolledCount() {
+        return enrolledCount;
+    }
+
+    public void setEnrolledCount(int enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+}
@@ -1,10 +1,19 @@
 package com.billieonsite.studentmanagement.model;
 
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
+import com.billieonsite.studentmanagement.schedule.ScheduleTime;
 import jakarta.persistence.*;
 
+import java.time.format.DateTimeParseException;
+
 @Entity
 @Table(name = "enrollments", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"class_id", "student_id", "day", "start_time", "end_time"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"class_id", "student_id", "day", "start_time", "end_time"}),
+       indexes = {
+           @Index(name = "idx_enrollments_student_id", columnList = "student_id, id"),
+           @Index(name = "idx_enrollments_class_id", columnList = "class_id, id"),
+           @Index(name = "idx_enrollments_day_id", columnList = "day, id")
+       })
 public class Enrollment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +39,17 @@ public class Enrollment {
     
     @Column
     private String room;       // e.g., "A203"
+    
+    // Integer form of day/startTime/endTime, derived on every write; the PostgreSQL
+    // exclusion constraint on (student_id, day_of_week, [start_min, end_min)) reads these
+    @Column(name = "day_of_week")
+    private Short dayOfWeek;
+    
+    @Column(name = "start_min")
+    private Short startMin;
+    
+    @Column(name = "end_min")
+    private Short endMin;
 
     public Enrollment() {}
 
@@ -47,6 +67,26 @@ public class Enrollment {
         this.room = room;
     }
 
+    @PrePersist
+    @PreUpdate
+    void deriveMinuteRange() {
+        int dayIndex = ScheduleParser.dayIndex(day);
+        dayOfWeek = dayIndex >= 0 ? (short) dayIndex : null;
+        startMin = toMinutes(startTime);
+        endMin = toMinutes(endTime);
+    }
+    
+    private static Short toMinutes(String time) {
+        if (time == null) {
+            return null;
+        }
+        try {
+            return (short) ScheduleTime.parse(time);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -102,4 +142,16 @@ public class Enrollment {
     public void setRoom(String room) {
         this.room = room;
     }
+    
+    public Short getDayOfWeek() {
+        return dayOfWeek;
+    }
+    
+    public Short getStartMin() {
+        return startMin;
+    }
+    
+    public Short getEndMin() {
+        return endMin;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.billieonsite.studentmanagement.model;
+
+import jakarta.persistence.*;
+
+// One row per room key, locked by ScheduleConstraints while a class schedule is saved on a database
+// without the room exclusion constraint. Rows are created and locked with SQL, so the entity only
+// declares the table.
+@Entity
+@Table(name = "room_locks")
+public class RoomLock {
+    @Id
+    @Column(nullable = false)
+    private String room;
+
+    public RoomLock() {}
+
+    public RoomLock(String room) {
+        this.room = room;
+    }
+
+    public String getRoom() {
+        return room;
+    }
+
+    public void setRoom(String room) {
+        this.room = room;
+    }
+}
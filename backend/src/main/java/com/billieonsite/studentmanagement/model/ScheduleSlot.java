@@ -0,0 +1,104 @@
+package com.billieonsite.studentmanagement.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "schedule_slots",
+       indexes = {
+           @Index(name = "idx_schedule_slots_room_day_start", columnList = "room, day_of_week, start_min"),
+           @Index(name = "idx_schedule_slots_teacher_day_start", columnList = "teacher_id, day_of_week, start_min"),
+           @Index(name = "idx_schedule_slots_class", columnList = "class_id")
+       })
+public class ScheduleSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "class_id", nullable = false)
+    private Class classEntity;
+    
+    // Denormalized from the class so teacher conflicts are a single indexed lookup
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "teacher_id")
+    private Teacher teacher;
+    
+    @Column(name = "day_of_week", nullable = false)
+    private short dayOfWeek;   // 0 = monday ... 6 = sunday
+    
+    @Column(name = "start_min", nullable = false)
+    private short startMin;    // minute of day, inclusive
+    
+    @Column(name = "end_min", nullable = false)
+    private short endMin;      // minute of day, exclusive
+    
+    @Column(nullable = false)
+    private String room;       // upper-cased, e.g. "A203"
+
+    public ScheduleSlot() {}
+
+    public ScheduleSlot(Class classEntity, Teacher teacher, short dayOfWeek, short startMin, short endMin, String room) {
+        this.classEntity = classEntity;
+        this.teacher = teacher;
+        this.dayOfWeek = dayOfWeek;
+        this.startMin = startMin;
+        this.endMin = endMin;
+        this.room = room;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Class getClassEntity() {
+        return classEntity;
+    }
+
+    public void setClassEntity(Class classEntity) {
+        this.classEntity = classEntity;
+    }
+
+    public Teacher getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(Teacher teacher) {
+        this.teacher = teacher;
+    }
+
+    public short getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(short dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public short getStartMin() {
+        return startMin;
+    }
+
+    public void setStartMin(short startMin) {
+        this.startMin = startMin;
+    }
+
+    public short getEndMin() {
+        return endMin;
+    }
+
+    public void setEndMin(short endMin) {
+        this.endMin = endMin;
+    }
+
+    public String getRoom() {
+        return room;
+    }
+
+    public void setRoom(String room) {
+        this.room = room;
+    }
+}
@@ -3,9 +3,14 @@ package com.billieonsite.studentmanagement.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Table(name = "users",
+       indexes = @Index(name = "idx_users_role_id", columnList = "role, id"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +29,10 @@ public class User {
     @Column(nullable = false)
     private Role role;
     
+    // Carried in each JWT as "tv"; bumping it revokes every token issued before the change
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion;
+    
     public User() {}
     
     public User(String username, String password, Role role) {
@@ -63,4 +72,16 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+    
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
+    public void revokeTokens() {
+        tokenVersion++;
+    }
 }
\ No newline at end of file
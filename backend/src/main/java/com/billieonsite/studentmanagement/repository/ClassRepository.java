@@ -2,12 +2,38 @@ package com.billieonsite.studentmanagement.repository;
 
 import com.billieonsite.studentmanagement.model.Class;
 import com.billieonsite.studentmanagement.model.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface ClassRepository extends JpaRepository<Class, Long> {
+    // Cached until the classes table next changes; the rows themselves come from the classes region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Class> findByTeacher(Teacher teacher);
     List<Class> findByTitleContainingIgnoreCase(String title);
+    
+    @Query("SELECT c FROM Class c LEFT JOIN FETCH c.teacher")
+    List<Class> findAllWithTeacher();
+    
+    // Keyset page of classes above the cursor with the teacher fetched in the same statement;
+    // null filters match everything (idx_classes_subject_id, idx_classes_teacher_id)
+    @Query("SELECT c FROM Class c LEFT JOIN FETCH c.teacher t WHERE c.id > :after " +
+           "AND (:subject IS NULL OR c.subject = :subject) " +
+           "AND (:teacherId IS NULL OR t.id = :teacherId) ORDER BY c.id")
+    Slice<Class> findSlice(@Param("after") long after, 
+                           @Param("subject") String subject, 
+                           @Param("teacherId") Long teacherId, 
+                           Pageable pageable);
+    
+    // Classes whose schedule has not been normalized into schedule_slots yet
+    @Query("SELECT c FROM Class c WHERE NOT EXISTS (SELECT s.id FROM ScheduleSlot s WHERE s.classEntity = c)")
+    List<Class> findWithoutScheduleSlots();
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.billieonsite.studentmanagement.repository;
+
+import com.billieonsite.studentmanagement.model.ClassSlotCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ClassSlotCountRepository extends JpaRepository<ClassSlotCount, Long> {
+    // Slots of one class that currently have enrollments (uk_class_slot_counts_slot leads with class_id)
+    @Query("SELECT s FROM ClassSlotCount s WHERE s.classEntity.id = :classId AND s.enrolledCount > 0")
+    List<ClassSlotCount> findByClassId(@Param("classId") Long classId);
+}
@@ -1,20 +1,71 @@
 package com.billieonsite.studentmanagement.repository;
 
+import com.billieonsite.studentmanagement.dto.EnrollmentDto;
+import com.billieonsite.studentmanagement.dto.EnrollmentRow;
 import com.billieonsite.studentmanagement.model.Enrollment;
 import com.billieonsite.studentmanagement.model.Student;
 import com.billieonsite.studentmanagement.model.Class;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByStudent(Student student);
     List<Enrollment> findByClassEntity(Class classEntity);
     
+    // EnrollmentDto rows built in the select itself: student, class and teacher come from joins
+    // in the same statement instead of one lazy load per enrollment
+    String DTO_SELECT = "SELECT new com.billieonsite.studentmanagement.dto.EnrollmentDto(" +
+           "e.id, s.id, c.id, s.name, s.email, c.title, t.name, e.day, e.startTime, e.endTime, e.room) " +
+           "FROM Enrollment e JOIN e.student s JOIN e.classEntity c LEFT JOIN c.teacher t ";
+    
+    // Keyset page above the cursor; null filters match everything
+    // (idx_enrollments_student_id, idx_enrollments_class_id, idx_enrollments_day_id)
+    @Query(DTO_SELECT + "WHERE e.id > :after " +
+           "AND (:studentId IS NULL OR s.id = :studentId) " +
+           "AND (:classId IS NULL OR c.id = :classId) " +
+           "AND (:day IS NULL OR e.day = :day) ORDER BY e.id")
+    Slice<EnrollmentDto> findDtoSlice(@Param("after") long after, 
+                                      @Param("studentId") Long studentId, 
+                                      @Param("classId") Long classId, 
+                                      @Param("day") String day, 
+                                      Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE e.id = :id")
+    Optional<EnrollmentDto> findDtoById(@Param("id") Long id);
+    
+    @Query(DTO_SELECT + "WHERE s.id = :studentId ORDER BY e.id")
+    List<EnrollmentDto> findDtosByStudentId(@Param("studentId") Long studentId);
+    
+    @Query(DTO_SELECT + "WHERE c.id = :classId ORDER BY e.id")
+    List<EnrollmentDto> findDtosByClassId(@Param("classId") Long classId);
+    
+    // Teacher dashboard total: a student in several of the teacher's classes counts once, so this
+    // cannot be summed from the per-class counters (idx_classes_teacher_id, idx_enrollments_class_id)
+    @Query("SELECT COUNT(DISTINCT e.student.id) FROM Enrollment e WHERE e.classEntity.teacher.id = :teacherId")
+    long countDistinctStudentsByTeacher(@Param("teacherId") Long teacherId);
+    
+    // Forward-only export of every enrollment (or one class roster when classId is set). The fetch
+    // size makes the PostgreSQL driver read through a server-side cursor in batches instead of
+    // buffering the whole result; it only does so inside a transaction, which the caller must hold
+    // until the stream is closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.billieonsite.studentmanagement.dto.EnrollmentRow(" +
+           "e.id, s.id, s.name, s.email, c.id, c.title, t.name, e.day, e.startTime, e.endTime, e.room) " +
+           "FROM Enrollment e JOIN e.student s JOIN e.classEntity c LEFT JOIN c.teacher t " +
+           "WHERE (:classId IS NULL OR c.id = :classId) ORDER BY e.id")
+    Stream<EnrollmentRow> streamRows(@Param("classId") Long classId);
+    
     // Deprecated: These methods don't work properly with time slot-based enrollments
     // Use time slot-specific methods instead
     @Deprecated
@@ -0,0 +1,41 @@
+package com.billieonsite.studentmanagement.repository;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ScheduleSlotRepository extends JpaRepository<ScheduleSlot, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM ScheduleSlot s WHERE s.classEntity.id = :classId")
+    void deleteByClassId(@Param("classId") Long classId);
+    
+    // Classes holding the room on that day in a slot overlapping [startMin, endMin)
+    // Served by idx_schedule_slots_room_day_start; a semi-join rather than DISTINCT, which
+    // PostgreSQL and H2 refuse to combine with ORDER BY c.id (rendered as s.class_id)
+    @Query("SELECT c FROM Class c LEFT JOIN FETCH c.teacher WHERE EXISTS (SELECT 1 FROM ScheduleSlot s " +
+           "WHERE s.classEntity = c AND s.room = :room AND s.dayOfWeek = :day AND s.startMin < :endMin AND s.endMin > :startMin) " +
+           "AND (:excludeClassId IS NULL OR c.id <> :excludeClassId) ORDER BY c.id")
+    List<Class> findRoomConflicts(@Param("room") String room,
+                                  @Param("day") short day,
+                                  @Param("startMin") short startMin,
+                                  @Param("endMin") short endMin,
+                                  @Param("excludeClassId") Long excludeClassId);
+    
+    // Classes of the teacher with a slot on that day overlapping [startMin, endMin)
+    // Served by idx_schedule_slots_teacher_day_start
+    @Query("SELECT c FROM Class c WHERE EXISTS (SELECT 1 FROM ScheduleSlot s " +
+           "WHERE s.classEntity = c AND s.teacher.id = :teacherId AND s.dayOfWeek = :day AND s.startMin < :endMin AND s.endMin > :startMin) " +
+           "AND (:excludeClassId IS NULL OR c.id <> :excludeClassId) ORDER BY c.id")
+    List<Class> findTeacherConflicts(@Param("teacherId") Long teacherId,
+                                     @Param("day") short day,
+                                     @Param("startMin") short startMin,
+                                     @Param("endMin") short endMin,
+                                     @Param("excludeClassId") Long excludeClassId);
+}
@@ -1,7 +1,11 @@
 package com.billieonsite.studentmanagement.repository;
 
 import com.billieonsite.studentmanagement.model.Student;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -9,4 +13,8 @@ import java.util.Optional;
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     boolean existsByEmail(String email);
+    
+    // Keyset page: students with an id above the cursor, user fetched in the same statement
+    @Query("SELECT s FROM Student s LEFT JOIN FETCH s.user WHERE s.id > :after ORDER BY s.id")
+    Slice<Student> findSlice(@Param("after") long after, Pageable pageable);
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.billieonsite.studentmanagement.repository;
 
 import com.billieonsite.studentmanagement.model.Teacher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,4 +13,8 @@ import java.util.List;
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     List<Teacher> findBySubject(String subject);
     List<Teacher> findByNameContainingIgnoreCase(String name);
+    
+    // Keyset page: teachers with an id above the cursor, user fetched in the same statement
+    @Query("SELECT t FROM Teacher t LEFT JOIN FETCH t.user WHERE t.id > :after ORDER BY t.id")
+    Slice<Teacher> findSlice(@Param("after") long after, Pageable pageable);
 }
\ No newline at end of file
@@ -2,15 +2,28 @@ package com.billieonsite.studentmanagement.repository;
 
 import com.billieonsite.studentmanagement.model.User;
 import com.billieonsite.studentmanagement.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Sign-in lookup; the query cache maps the username to an id and the users region supplies the row
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     List<User> findByRole(Role role);
     long countByRole(Role role);
+    
+    // Keyset page of users above the cursor; a null role means all roles (idx_users_role_id)
+    @Query("SELECT u FROM User u WHERE u.id > :after AND (:role IS NULL OR u.role = :role) ORDER BY u.id")
+    Slice<User> findSlice(@Param("after") long after, @Param("role") Role role, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+
+import java.util.Collections;
+import java.util.List;
+
+// Published after a class has been saved or deleted so in-memory schedule views can follow.
+// previousTeacherId is the teacher before an update, so per-teacher views can drop the class.
+public record ClassChangedEvent(Long classId, Long teacherId, Long previousTeacherId, List<SlotInterval> slots, boolean deleted) {
+
+    public static ClassChangedEvent saved(Class clazz, Long previousTeacherId, List<SlotInterval> slots) {
+        return new ClassChangedEvent(
+            clazz.getId(),
+            clazz.getTeacher() != null ? clazz.getTeacher().getId() : null,
+            previousTeacherId,
+            slots,
+            false
+        );
+    }
+
+    public static ClassChangedEvent deleted(Long classId, Long teacherId) {
+        return new ClassChangedEvent(classId, null, teacherId, Collections.emptyList(), true);
+    }
+}
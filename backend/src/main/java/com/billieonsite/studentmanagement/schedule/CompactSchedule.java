@@ -0,0 +1,94 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable slots of one class, packed one int per slot (day in the top bits, then start and end
+// minute in 11 bits each) plus a parallel array of room codes. A few dozen bytes per class,
+// cheap enough to keep for every class in ParsedScheduleCache.
+public final class CompactSchedule {
+
+    public static final CompactSchedule EMPTY = new CompactSchedule(new int[0], new String[0], true);
+    public static final CompactSchedule INVALID = new CompactSchedule(new int[0], new String[0], false);
+
+    private static final int MINUTE_BITS = 11;
+    private static final int MINUTE_MASK = (1 << MINUTE_BITS) - 1;
+
+    private final int[] packed;
+    private final String[] rooms;
+    private final boolean valid;
+
+    private CompactSchedule(int[] packed, String[] rooms, boolean valid) {
+        this.packed = packed;
+        this.rooms = rooms;
+        this.valid = valid;
+    }
+
+    public static CompactSchedule of(List<SlotInterval> slots) {
+        if (slots.isEmpty()) {
+            return EMPTY;
+        }
+        int[] packed = new int[slots.size()];
+        String[] rooms = new String[slots.size()];
+        for (int i = 0; i < packed.length; i++) {
+            SlotInterval slot = slots.get(i);
+            packed[i] = (slot.day() << (2 * MINUTE_BITS)) | (slot.start() << MINUTE_BITS) | slot.end();
+            rooms[i] = slot.room();
+        }
+        return new CompactSchedule(packed, rooms, true);
+    }
+
+    // Strict parse of a stored schedule; a malformed one becomes INVALID rather than an exception
+    public static CompactSchedule parse(WeeklySchedule schedule) {
+        try {
+            return of(ScheduleParser.parse(schedule));
+        } catch (IllegalArgumentException e) {
+            return INVALID;
+        }
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int size() {
+        return packed.length;
+    }
+
+    public int day(int i) {
+        return packed[i] >>> (2 * MINUTE_BITS);
+    }
+
+    public int start(int i) {
+        return (packed[i] >>> MINUTE_BITS) & MINUTE_MASK;
+    }
+
+    public int end(int i) {
+        return packed[i] & MINUTE_MASK;
+    }
+
+    public String room(int i) {
+        return rooms[i];
+    }
+
+    public List<SlotInterval> toSlots() {
+        List<SlotInterval> slots = new ArrayList<>(packed.length);
+        for (int i = 0; i < packed.length; i++) {
+            slots.add(new SlotInterval(day(i), start(i), end(i), rooms[i]));
+        }
+        return Collections.unmodifiableList(slots);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CompactSchedule other && valid == other.valid && 
+            Arrays.equals(packed, other.packed) && Arrays.equals(rooms, other.rooms));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(packed) + Arrays.hashCode(rooms);
+    }
+}
@@ -0,0 +1,77 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Parsed slots of stored class schedules, one entry per class id holding the @Version it was parsed
+// at. Any update bumps the version, so a read compares it and re-parses instead of serving slots
+// for a schedule the entry was not parsed from; a change event drops just that class's entry.
+// Hit and miss counts are published as cache.gets{cache=parsedSchedules} under /actuator/metrics.
+@Component
+public class ParsedScheduleCache {
+
+    public static final String CACHE_NAME = "parsedSchedules";
+    public static final int MAXIMUM_SIZE = 10_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Hits and misses are recorded by hand: a stale version is a miss even though the id is present
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+
+    private final Cache<Long, Entry> cache = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .recordStats(() -> stats)
+        .build();
+
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CompactSchedule get(Class clazz) {
+        if (clazz.getId() == null) {
+            return CompactSchedule.parse(clazz.getSchedule());
+        }
+        // asMap() reads and writes leave the stats alone, so each get counts exactly once
+        Entry entry = cache.asMap().get(clazz.getId());
+        if (entry != null && entry.version() == clazz.getVersion()) {
+            stats.recordHits(1);
+            return entry.schedule();
+        }
+        stats.recordMisses(1);
+        CompactSchedule schedule = CompactSchedule.parse(clazz.getSchedule());
+        store(clazz, schedule);
+        return schedule;
+    }
+
+    // Seeds the entry for a class just saved with already-parsed slots, so its next read is a hit;
+    // call after publishing the ClassChangedEvent, which drops the class's entry
+    public void put(Class clazz, CompactSchedule schedule) {
+        store(clazz, schedule);
+    }
+
+    @EventListener
+    public void onClassChanged(ClassChangedEvent event) {
+        if (event.classId() != null) {
+            cache.invalidate(event.classId());
+        }
+    }
+
+    // A reader still holding an older copy of the class must not replace a newer entry
+    private void store(Class clazz, CompactSchedule schedule) {
+        cache.asMap().merge(clazz.getId(), new Entry(clazz.getVersion(), schedule),
+            (current, parsed) -> current.version() > parsed.version() ? current : parsed);
+    }
+
+    private record Entry(long version, CompactSchedule schedule) {}
+}
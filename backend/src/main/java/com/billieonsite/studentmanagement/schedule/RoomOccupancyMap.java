@@ -0,0 +1,219 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Each room's week as a bitset of 5-minute buckets (7 * 288 = 2016 bits in 32 longs).
+// Slots are rounded outwards to whole buckets, so a clear range is always free while a set
+// bit only means "possibly taken" for times off the 5-minute grid; callers confirm hits
+// against ScheduleIndex. Readers never lock: a room's bitmap is replaced, not mutated.
+@Component
+public class RoomOccupancyMap {
+
+    public static final int BUCKET_MINUTES = 5;
+    public static final int BUCKETS_PER_DAY = 24 * 60 / BUCKET_MINUTES;
+    private static final int WORDS = (ScheduleParser.DAYS.length * BUCKETS_PER_DAY + 63) / 64;
+
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    private final Map<String, long[]> occupancy = new ConcurrentHashMap<>();
+    // Writer-side bookkeeping, guarded by this
+    private final Map<Long, List<SlotInterval>> slotsByClass = new HashMap<>();
+    private final Map<String, Set<Long>> classesByRoom = new HashMap<>();
+    private volatile boolean loaded = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        slotsByClass.clear();
+        classesByRoom.clear();
+        for (ScheduleSlot slot : scheduleSlotRepository.findAll()) {
+            Long classId = slot.getClassEntity().getId();
+            SlotInterval interval = new SlotInterval(slot.getDayOfWeek(), slot.getStartMin(), slot.getEndMin(), slot.getRoom());
+            slotsByClass.computeIfAbsent(classId, k -> new ArrayList<>()).add(interval);
+            classesByRoom.computeIfAbsent(ScheduleParser.roomKey(slot.getRoom()), k -> new HashSet<>()).add(classId);
+        }
+
+        occupancy.clear();
+        for (String room : classesByRoom.keySet()) {
+            occupancy.put(room, computeBitmap(room));
+        }
+        loaded = true;
+    }
+
+    @EventListener
+    public void onClassChanged(ClassChangedEvent event) {
+        ensureLoaded();
+        synchronized (this) {
+            Set<String> touchedRooms = new HashSet<>();
+            List<SlotInterval> previous = slotsByClass.remove(event.classId());
+            if (previous != null) {
+                for (SlotInterval slot : previous) {
+                    String room = ScheduleParser.roomKey(slot.room());
+                    Set<Long> classIds = classesByRoom.get(room);
+                    if (classIds != null) {
+                        classIds.remove(event.classId());
+                    }
+                    touchedRooms.add(room);
+                }
+            }
+            if (!event.deleted() && !event.slots().isEmpty()) {
+                slotsByClass.put(event.classId(), event.slots());
+                for (SlotInterval slot : event.slots()) {
+                    String room = ScheduleParser.roomKey(slot.room());
+                    classesByRoom.computeIfAbsent(room, k -> new HashSet<>()).add(event.classId());
+                    touchedRooms.add(room);
+                }
+            }
+
+            // Recompute only the touched rooms so classes still sharing a room keep their bits
+            for (String room : touchedRooms) {
+                Set<Long> classIds = classesByRoom.get(room);
+                if (classIds == null || classIds.isEmpty()) {
+                    classesByRoom.remove(room);
+                    occupancy.remove(room);
+                } else {
+                    occupancy.put(room, computeBitmap(room));
+                }
+            }
+        }
+    }
+
+    // True when no class uses the room on that day anywhere in [start, end)
+    public boolean isFree(String room, int day, int start, int end) {
+        ensureLoaded();
+        long[] bits = occupancy.get(ScheduleParser.roomKey(room));
+        if (bits == null) {
+            return true;
+        }
+        int from = day * BUCKETS_PER_DAY + start / BUCKET_MINUTES;
+        int to = day * BUCKETS_PER_DAY + (end + BUCKET_MINUTES - 1) / BUCKET_MINUTES;
+        return !intersects(bits, from, to);
+    }
+
+    // The free stretch of the room's day around [start, end): from the end of the previous
+    // occupied bucket to the start of the next one, in minutes rounded to the bucket grid
+    public Gap freeGapAround(String room, int day, int start, int end) {
+        ensureLoaded();
+        int dayStart = day * BUCKETS_PER_DAY;
+        int dayEnd = dayStart + BUCKETS_PER_DAY;
+        long[] bits = occupancy.get(ScheduleParser.roomKey(room));
+        if (bits == null) {
+            return new Gap(0, BUCKETS_PER_DAY * BUCKET_MINUTES);
+        }
+        int previous = previousSetBit(bits, dayStart + start / BUCKET_MINUTES - 1, dayStart);
+        int next = nextSetBit(bits, dayStart + (end + BUCKET_MINUTES - 1) / BUCKET_MINUTES, dayEnd);
+        int gapStart = previous < 0 ? 0 : (previous + 1 - dayStart) * BUCKET_MINUTES;
+        int gapEnd = next < 0 ? BUCKETS_PER_DAY * BUCKET_MINUTES : (next - dayStart) * BUCKET_MINUTES;
+        return new Gap(gapStart, gapEnd);
+    }
+
+    // Every room that appears in at least one class schedule (canonical keys)
+    public Set<String> rooms() {
+        ensureLoaded();
+        return Collections.unmodifiableSet(occupancy.keySet());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private long[] computeBitmap(String room) {
+        long[] bits = new long[WORDS];
+        for (Long classId : classesByRoom.get(room)) {
+            for (SlotInterval slot : slotsByClass.get(classId)) {
+                if (room.equals(ScheduleParser.roomKey(slot.room()))) {
+                    int from = slot.day() * BUCKETS_PER_DAY + slot.start() / BUCKET_MINUTES;
+                    int to = slot.day() * BUCKETS_PER_DAY + (slot.end() + BUCKET_MINUTES - 1) / BUCKET_MINUTES;
+                    setRange(bits, from, to);
+                }
+            }
+        }
+        return bits;
+    }
+
+    // Bit ranges are half-open [from, to)
+    private static void setRange(long[] bits, int from, int to) {
+        for (int word = from >>> 6; from < to; word++) {
+            int next = Math.min(to, (word + 1) << 6);
+            bits[word] |= mask(from, next);
+            from = next;
+        }
+    }
+
+    private static boolean intersects(long[] bits, int from, int to) {
+        for (int word = from >>> 6; from < to; word++) {
+            int next = Math.min(to, (word + 1) << 6);
+            if ((bits[word] & mask(from, next)) != 0) {
+                return true;
+            }
+            from = next;
+        }
+        return false;
+    }
+
+    // First set bit in [from, limit), or -1
+    private static int nextSetBit(long[] bits, int from, int limit) {
+        if (from >= limit) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long current = bits[word] & (-1L << (from & 63));
+        while (true) {
+            if (current != 0) {
+                int bit = (word << 6) + Long.numberOfTrailingZeros(current);
+                return bit < limit ? bit : -1;
+            }
+            if (++word << 6 >= limit) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    // Last set bit in [floor, from], or -1
+    private static int previousSetBit(long[] bits, int from, int floor) {
+        if (from < floor) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long current = bits[word] & (-1L >>> (63 - (from & 63)));
+        while (true) {
+            if (current != 0) {
+                int bit = (word << 6) + 63 - Long.numberOfLeadingZeros(current);
+                return bit >= floor ? bit : -1;
+            }
+            if (word-- == 0 || (word << 6) + 63 < floor) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    private static long mask(int from, int to) {
+        int width = to - from;
+        long bitsInRange = width == 64 ? -1L : (1L << width) - 1;
+        return bitsInRange << (from & 63);
+    }
+
+    public record Gap(int start, int end) {}
+}
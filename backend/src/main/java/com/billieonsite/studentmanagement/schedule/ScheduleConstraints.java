@@ -0,0 +1,177 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+// Installs the PostgreSQL exclusion constraints that make double-booking impossible at the
+// database level: a room used twice at once (add-schedule-slot-exclusion.sql) and a student
+// enrolled in two overlapping slots (add-enrollment-overlap-exclusion.sql). Other databases
+// (H2 in tests) have no exclusion constraints: there lockRooms stands in for the room constraint,
+// and the Java pre-check stays in charge of student overlaps.
+@Component
+public class ScheduleConstraints {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleConstraints.class);
+
+    public static final String ROOM_OVERLAP_CONSTRAINT = "schedule_slots_room_no_overlap";
+    public static final String STUDENT_OVERLAP_CONSTRAINT = "enrollments_student_no_overlap";
+
+    static final String ROOM_OVERLAP_SCRIPT = "add-schedule-slot-exclusion.sql";
+    static final String STUDENT_OVERLAP_SCRIPT = "add-enrollment-overlap-exclusion.sql";
+
+    private static final String LOCK_ROOM = "UPDATE room_locks SET room = room WHERE room = ?";
+
+    private static final String INSERT_ROOM = "INSERT INTO room_locks (room) VALUES (?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    private volatile boolean roomExclusionEnforced = false;
+    private volatile boolean studentOverlapEnforced = false;
+    private volatile Boolean postgres;
+
+    // Runs right after the schedule_slots backfill, which would otherwise trip over the constraint
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void install() {
+        if (!isPostgres()) {
+            return;
+        }
+
+        roomExclusionEnforced = installConstraint(ROOM_OVERLAP_CONSTRAINT, ROOM_OVERLAP_SCRIPT);
+        studentOverlapEnforced = installConstraint(STUDENT_OVERLAP_CONSTRAINT, STUDENT_OVERLAP_SCRIPT);
+    }
+
+    public boolean isRoomExclusionEnforced() {
+        return roomExclusionEnforced;
+    }
+
+    public boolean isStudentOverlapEnforced() {
+        return studentOverlapEnforced;
+    }
+
+    public static boolean isRoomOverlap(DataIntegrityViolationException e) {
+        return violates(e, ROOM_OVERLAP_CONSTRAINT);
+    }
+
+    public static boolean isStudentOverlap(DataIntegrityViolationException e) {
+        return violates(e, STUDENT_OVERLAP_CONSTRAINT);
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(constraint);
+    }
+
+    // Without the room constraint, saves touching the same room are serialized on its room_locks row
+    // and the overlap check runs again under that lock, where every earlier booking of the room is
+    // committed. Call inside the saving transaction, before the class's slots are written; an overlap
+    // is thrown as a violation of the constraint, so callers handle both cases alike.
+    public void lockRooms(Long classId, List<SlotInterval> slots) {
+        if (roomExclusionEnforced) {
+            return;
+        }
+
+        // Sorted, so two saves sharing rooms take their locks in the same order
+        SortedSet<String> rooms = new TreeSet<>();
+        for (SlotInterval slot : slots) {
+            if (slot.room() != null) {
+                rooms.add(ScheduleParser.roomKey(slot.room()));
+            }
+        }
+        for (String room : rooms) {
+            lockRoom(room);
+        }
+
+        for (int i = 0; i < slots.size(); i++) {
+            SlotInterval slot = slots.get(i);
+            if (slot.room() == null) {
+                continue;
+            }
+            String room = ScheduleParser.roomKey(slot.room());
+            boolean overlaps = !scheduleSlotRepository.findRoomConflicts(
+                room, (short) slot.day(), (short) slot.start(), (short) slot.end(), classId).isEmpty();
+            // The constraint also rejects a class booking one room twice at once
+            for (int j = 0; j < i && !overlaps; j++) {
+                SlotInterval other = slots.get(j);
+                overlaps = room.equals(ScheduleParser.roomKey(other.room())) && other.day() == slot.day() &&
+                    other.overlaps(slot.start(), slot.end());
+            }
+            if (overlaps) {
+                throw new DataIntegrityViolationException("Room " + room + " is already booked on day " + slot.day() +
+                    ", rejected in place of " + ROOM_OVERLAP_CONSTRAINT);
+            }
+        }
+    }
+
+    private void lockRoom(String room) {
+        if (jdbcTemplate.update(LOCK_ROOM, room) > 0) {
+            return;
+        }
+        // First save of the room: create its row, then lock it. ON CONFLICT waits for a concurrent
+        // creator; elsewhere (H2 in tests) the duplicate insert fails once the creator has committed
+        if (isPostgres()) {
+            jdbcTemplate.update(INSERT_ROOM + " ON CONFLICT (room) DO NOTHING", room);
+        } else {
+            try {
+                jdbcTemplate.update(INSERT_ROOM, room);
+            } catch (DuplicateKeyException e) {
+                // Created by the other save meanwhile
+            }
+        }
+        jdbcTemplate.update(LOCK_ROOM, room);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+
+    // The script is the one kept in resources for manual runs, so both ways install the same DDL
+    private boolean installConstraint(String constraint, String script) {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, constraint);
+            if (existing == null || existing == 0) {
+                jdbcTemplate.execute((Connection connection) -> {
+                    ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+                    return null;
+                });
+            }
+            return true;
+        } catch (Exception e) {
+            // Typically rows that already overlap (POST /api/admin/timetable/audit lists double-booked rooms)
+            // or a role that may not create extensions; the Java checks (lockRooms for rooms) stay in charge until fixed
+            log.atWarn().setMessage("Constraint not installed, using the Java checks instead")
+                .addKeyValue("constraint", constraint)
+                .addKeyValue("cause", e.getMessage())
+                .log();
+            return false;
+        }
+    }
+}
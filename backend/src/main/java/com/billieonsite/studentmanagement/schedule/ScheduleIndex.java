@@ -0,0 +1,220 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory per-room and per-teacher interval index over every class schedule.
+// Built once at startup from schedule_slots and kept current through ClassChangedEvent,
+// so conflict queries never touch the database or re-parse schedule JSON.
+@Component
+public class ScheduleIndex {
+
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    // Readers take the read lock; writers (rebuild and class changes) are also serialized on this,
+    // so a change applied while a rebuild is reading schedule_slots is never overwritten by it
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedClass> classes = new HashMap<>();
+    private final Map<String, DayIntervals[]> byRoom = new HashMap<>();
+    private final Map<Long, DayIntervals[]> byTeacher = new HashMap<>();
+    private volatile boolean loaded = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<Long, List<SlotInterval>> slotsByClass = new HashMap<>();
+        Map<Long, Long> teacherByClass = new HashMap<>();
+        for (ScheduleSlot slot : scheduleSlotRepository.findAll()) {
+            Long classId = slot.getClassEntity().getId();
+            slotsByClass.computeIfAbsent(classId, k -> new ArrayList<>())
+                .add(new SlotInterval(slot.getDayOfWeek(), slot.getStartMin(), slot.getEndMin(), slot.getRoom()));
+            if (slot.getTeacher() != null) {
+                teacherByClass.put(classId, slot.getTeacher().getId());
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            classes.clear();
+            byRoom.clear();
+            byTeacher.clear();
+            for (Map.Entry<Long, List<SlotInterval>> entry : slotsByClass.entrySet()) {
+                add(entry.getKey(), teacherByClass.get(entry.getKey()), entry.getValue());
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onClassChanged(ClassChangedEvent event) {
+        ensureLoaded();
+        synchronized (this) {
+            lock.writeLock().lock();
+            try {
+                remove(event.classId());
+                if (!event.deleted()) {
+                    add(event.classId(), event.teacherId(), event.slots());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Ids (ascending) of classes using the room on that day in a slot overlapping [start, end)
+    public Set<Long> findRoomConflicts(String room, int day, int start, int end, Long excludeClassId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return overlapping(byRoom.get(ScheduleParser.roomKey(room)), day, start, end, excludeClassId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids (ascending) of the teacher's classes with a slot on that day overlapping [start, end)
+    public Set<Long> findTeacherConflicts(Long teacherId, int day, int start, int end, Long excludeClassId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return overlapping(byTeacher.get(teacherId), day, start, end, excludeClassId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private Set<Long> overlapping(DayIntervals[] days, int day, int start, int end, Long excludeClassId) {
+        Set<Long> result = new TreeSet<>();
+        if (days == null || day < 0 || day >= days.length || days[day] == null) {
+            return result;
+        }
+        days[day].collectOverlapping(start, end, excludeClassId, result);
+        return result;
+    }
+
+    private void add(Long classId, Long teacherId, List<SlotInterval> slots) {
+        if (classId == null) {
+            return;
+        }
+        classes.put(classId, new IndexedClass(teacherId, slots));
+        for (SlotInterval slot : slots) {
+            Entry entry = new Entry(classId, slot.start(), slot.end());
+            intervalsFor(byRoom, ScheduleParser.roomKey(slot.room()), slot.day()).add(entry);
+            if (teacherId != null) {
+                intervalsFor(byTeacher, teacherId, slot.day()).add(entry);
+            }
+        }
+    }
+
+    private void remove(Long classId) {
+        IndexedClass existing = classes.remove(classId);
+        if (existing == null) {
+            return;
+        }
+        for (SlotInterval slot : existing.slots()) {
+            removeEntry(byRoom, ScheduleParser.roomKey(slot.room()), slot, classId);
+            if (existing.teacherId() != null) {
+                removeEntry(byTeacher, existing.teacherId(), slot, classId);
+            }
+        }
+    }
+
+    private static <K> DayIntervals intervalsFor(Map<K, DayIntervals[]> index, K key, int day) {
+        DayIntervals[] days = index.computeIfAbsent(key, k -> new DayIntervals[ScheduleParser.DAYS.length]);
+        if (days[day] == null) {
+            days[day] = new DayIntervals();
+        }
+        return days[day];
+    }
+
+    private static <K> void removeEntry(Map<K, DayIntervals[]> index, K key, SlotInterval slot, Long classId) {
+        DayIntervals[] days = index.get(key);
+        if (days == null || days[slot.day()] == null) {
+            return;
+        }
+        days[slot.day()].remove(classId, slot.start());
+    }
+
+    private record IndexedClass(Long teacherId, List<SlotInterval> slots) {}
+
+    private record Entry(Long classId, int start, int end) {}
+
+    // Intervals of one (room or teacher, day) sorted by start minute. Tracking the longest
+    // interval bounds how far left of the query window an overlapping interval can start,
+    // which turns an overlap query into a single sub-map range scan. It is recomputed when the
+    // longest interval is removed, so one long slot does not widen every later scan.
+    private static class DayIntervals {
+        private final NavigableMap<Integer, List<Entry>> byStart = new TreeMap<>();
+        private int maxLength = 0;
+
+        void add(Entry entry) {
+            byStart.computeIfAbsent(entry.start(), k -> new ArrayList<>(1)).add(entry);
+            maxLength = Math.max(maxLength, entry.end() - entry.start());
+        }
+
+        void remove(Long classId, int start) {
+            List<Entry> entries = byStart.get(start);
+            if (entries == null) {
+                return;
+            }
+            boolean removedLongest = false;
+            Iterator<Entry> it = entries.iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.classId().equals(classId)) {
+                    it.remove();
+                    removedLongest |= entry.end() - entry.start() == maxLength;
+                }
+            }
+            if (entries.isEmpty()) {
+                byStart.remove(start);
+            }
+            if (removedLongest) {
+                maxLength = 0;
+                for (List<Entry> remaining : byStart.values()) {
+                    for (Entry entry : remaining) {
+                        maxLength = Math.max(maxLength, entry.end() - entry.start());
+                    }
+                }
+            }
+        }
+
+        void collectOverlapping(int start, int end, Long excludeClassId, Set<Long> result) {
+            for (List<Entry> entries : byStart.subMap(start - maxLength, true, end, false).values()) {
+                for (Entry entry : entries) {
+                    if (entry.end() > start && !entry.classId().equals(excludeClassId)) {
+                        result.add(entry.classId());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public final class ScheduleParser {
+
+    public static final String[] DAYS = {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
+
+    private ScheduleParser() {}
+
+    public static int dayIndex(String day) {
+        if (day == null) {
+            return -1;
+        }
+        String normalized = day.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < DAYS.length; i++) {
+            if (DAYS[i].equals(normalized)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static String dayName(int day) {
+        return DAYS[day];
+    }
+
+    public static int toMinutes(String time) {
+        return ScheduleTime.parse(time);
+    }
+
+    public static String formatMinutes(int minutes) {
+        return ScheduleTime.format(minutes);
+    }
+
+    // Rooms are compared case-insensitively everywhere, so index them under one canonical key
+    public static String roomKey(String room) {
+        return room == null ? null : room.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Strict parse used for incoming schedules; throws IllegalArgumentException on malformed JSON or times
+    // and on slots that do not end after they start
+    public static List<SlotInterval> parse(String scheduleJson) {
+        return WeeklySchedule.fromJson(scheduleJson).slots();
+    }
+
+    public static List<SlotInterval> parse(WeeklySchedule schedule) {
+        return schedule == null ? Collections.emptyList() : schedule.slots();
+    }
+
+    // Lenient parse used for schedules already stored in the database; a broken schedule contributes no slots
+    public static List<SlotInterval> parseQuietly(WeeklySchedule schedule) {
+        try {
+            return parse(schedule);
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+    }
+}
\ No newline at end of file
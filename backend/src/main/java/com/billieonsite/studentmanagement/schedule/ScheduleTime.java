@@ -0,0 +1,54 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import java.time.format.DateTimeParseException;
+
+// "H:mm" / "HH:mm" <-> minute of day without going through LocalTime and DateTimeFormatter.
+// Parsing allocates nothing on the success path; malformed or out-of-range input fails with
+// DateTimeParseException, like LocalTime.parse did, so existing catch blocks keep working.
+public final class ScheduleTime {
+
+    private ScheduleTime() {}
+
+    public static int parse(CharSequence text) {
+        if (text == null) {
+            throw new NullPointerException("text");
+        }
+        int length = text.length();
+        int colon = length - 3;
+        if ((length != 4 && length != 5) || text.charAt(colon) != ':') {
+            throw invalid(text, 0);
+        }
+
+        int hour = digit(text, 0);
+        if (colon == 2) {
+            hour = hour * 10 + digit(text, 1);
+        }
+        int minute = digit(text, colon + 1) * 10 + digit(text, colon + 2);
+        if (hour > 23 || minute > 59) {
+            throw invalid(text, hour > 23 ? 0 : colon + 1);
+        }
+        return hour * 60 + minute;
+    }
+
+    // Always two-digit hours, so the output round-trips through parse and sorts as text
+    public static String format(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        return new String(new char[] {
+            (char) ('0' + hour / 10), (char) ('0' + hour % 10), ':',
+            (char) ('0' + minute / 10), (char) ('0' + minute % 10)
+        });
+    }
+
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw invalid(text, index);
+        }
+        return c - '0';
+    }
+
+    private static DateTimeParseException invalid(CharSequence text, int index) {
+        return new DateTimeParseException("Text '" + text + "' could not be parsed at index " + index, text, index);
+    }
+}
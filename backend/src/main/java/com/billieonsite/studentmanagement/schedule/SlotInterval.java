@@ -0,0 +1,9 @@
+package com.billieonsite.studentmanagement.schedule;
+
+// One parsed time slot of a class schedule: day index (0 = monday) and minute-of-day range [start, end)
+public record SlotInterval(int day, int start, int end, String room) {
+
+    public boolean overlaps(int otherStart, int otherEnd) {
+        return start < otherEnd && end > otherStart;
+    }
+}
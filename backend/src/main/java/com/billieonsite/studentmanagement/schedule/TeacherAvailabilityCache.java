@@ -0,0 +1,133 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Per-teacher merged busy ranges for each day of the week, loaded on first use and dropped
+// whenever one of the teacher's classes is created, moved, reassigned or deleted.
+// Hit and miss counts are published as cache.gets{cache=teacherAvailability} under /actuator/metrics.
+@Component
+public class TeacherAvailabilityCache {
+
+    public static final int DAY_MINUTES = 24 * 60;
+    public static final String CACHE_NAME = "teacherAvailability";
+    public static final int MAXIMUM_SIZE = 1_000;
+
+    @Autowired
+    private ClassRepository classRepository;
+    
+    @Autowired
+    private ParsedScheduleCache parsedScheduleCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AsyncCache<Long, List<List<Range>>> busyByTeacher = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .recordStats()
+        .buildAsync();
+
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, busyByTeacher, CACHE_NAME);
+    }
+
+    @EventListener
+    public void onClassChanged(ClassChangedEvent event) {
+        if (event.teacherId() != null) {
+            busyByTeacher.synchronous().invalidate(event.teacherId());
+        }
+        if (event.previousTeacherId() != null) {
+            busyByTeacher.synchronous().invalidate(event.previousTeacherId());
+        }
+    }
+
+    // Merged, sorted busy ranges of the teacher, indexed by day
+    public List<List<Range>> busyRanges(Teacher teacher) {
+        // The map only ever holds a future, so the query runs outside the cache's locks on the
+        // calling thread; concurrent callers for the teacher wait on the same future. A class
+        // change removes the pending future, so a load racing that change is never cached.
+        CompletableFuture<List<List<Range>>> created = new CompletableFuture<>();
+        CompletableFuture<List<List<Range>>> busy = busyByTeacher.get(teacher.getId(), (id, executor) -> created);
+        if (busy == created) {
+            try {
+                created.complete(load(teacher));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return busy.join();
+    }
+
+    // Gaps of at least minDuration minutes between the teacher's busy ranges on the given day
+    public List<Range> freeRanges(Teacher teacher, int day, int minDuration) {
+        List<Range> free = new ArrayList<>();
+        int cursor = 0;
+        for (Range busy : busyRanges(teacher).get(day)) {
+            if (busy.start() - cursor >= Math.max(minDuration, 1)) {
+                free.add(new Range(cursor, busy.start()));
+            }
+            cursor = busy.end();
+        }
+        if (DAY_MINUTES - cursor >= Math.max(minDuration, 1)) {
+            free.add(new Range(cursor, DAY_MINUTES));
+        }
+        return free;
+    }
+
+    private List<List<Range>> load(Teacher teacher) {
+        List<SlotInterval> slots = new ArrayList<>();
+        for (Class clazz : classRepository.findByTeacher(teacher)) {
+            slots.addAll(parsedScheduleCache.get(clazz).toSlots());
+        }
+        slots.sort(Comparator.comparingInt(SlotInterval::day).thenComparingInt(SlotInterval::start));
+
+        // Sweep over the sorted slots, extending the open range while the next slot starts inside it
+        List<List<Range>> busy = new ArrayList<>();
+        for (int day = 0; day < ScheduleParser.DAYS.length; day++) {
+            busy.add(new ArrayList<>());
+        }
+        int openDay = -1;
+        int openStart = 0;
+        int openEnd = 0;
+        for (SlotInterval slot : slots) {
+            if (slot.day() == openDay && slot.start() <= openEnd) {
+                openEnd = Math.max(openEnd, slot.end());
+                continue;
+            }
+            if (openDay >= 0) {
+                busy.get(openDay).add(new Range(openStart, openEnd));
+            }
+            openDay = slot.day();
+            openStart = slot.start();
+            openEnd = slot.end();
+        }
+        if (openDay >= 0) {
+            busy.get(openDay).add(new Range(openStart, openEnd));
+        }
+
+        List<List<Range>> result = new ArrayList<>();
+        for (List<Range> day : busy) {
+            result.add(Collections.unmodifiableList(day));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public record Range(int start, int end) {}
+}
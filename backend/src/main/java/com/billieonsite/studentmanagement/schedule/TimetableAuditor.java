@@ -0,0 +1,120 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+// Checks the whole stored timetable for room and teacher double-bookings. Every class is
+// loaded once, its slots are split into (room, day) and (teacher, day) partitions, and each
+// partition is swept independently on a dedicated ForkJoinPool.
+@Component
+public class TimetableAuditor {
+
+    public static final String ROOM = "room";
+    public static final String TEACHER = "teacher";
+
+    @Autowired
+    private ClassRepository classRepository;
+    
+    @Autowired
+    private ParsedScheduleCache parsedScheduleCache;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public AuditReport audit() {
+        List<Class> classes = classRepository.findAllWithTeacher();
+        Map<Partition, List<Occupancy>> partitions = new HashMap<>();
+        List<Class> invalidSchedules = new ArrayList<>();
+        int slotCount = 0;
+
+        for (Class clazz : classes) {
+            CompactSchedule schedule = parsedScheduleCache.get(clazz);
+            if (!schedule.isValid()) {
+                invalidSchedules.add(clazz);
+                continue;
+            }
+            slotCount += schedule.size();
+            for (int i = 0; i < schedule.size(); i++) {
+                Occupancy occupancy = new Occupancy(clazz.getId(), schedule.start(i), schedule.end(i));
+                partitions.computeIfAbsent(new Partition(ROOM, ScheduleParser.roomKey(schedule.room(i)), schedule.day(i)),
+                    k -> new ArrayList<>()).add(occupancy);
+                if (clazz.getTeacher() != null) {
+                    partitions.computeIfAbsent(new Partition(TEACHER, String.valueOf(clazz.getTeacher().getId()), schedule.day(i)),
+                        k -> new ArrayList<>()).add(occupancy);
+                }
+            }
+        }
+
+        // A parallel stream started from inside the pool runs on the pool's workers rather than the common pool
+        List<Overlap> overlaps = pool.submit(() -> partitions.entrySet().parallelStream()
+                .filter(entry -> entry.getValue().size() > 1)
+                .flatMap(entry -> sweep(entry.getKey(), entry.getValue()).stream())
+                .collect(Collectors.toList()))
+            .join();
+        overlaps.sort(Comparator.comparing(Overlap::type)
+            .thenComparingInt(Overlap::day)
+            .thenComparing(Overlap::key)
+            .thenComparingInt(Overlap::start)
+            .thenComparingLong(Overlap::firstClassId)
+            .thenComparingLong(Overlap::secondClassId));
+
+        Map<Long, Class> classesById = new HashMap<>();
+        for (Class clazz : classes) {
+            classesById.put(clazz.getId(), clazz);
+        }
+        return new AuditReport(classes.size(), slotCount, overlaps, classesById, invalidSchedules);
+    }
+
+    // Sort by start, then keep the intervals still open at each start; every open interval
+    // overlaps the incoming one, so the work is O(n log n + overlaps) per partition
+    private static List<Overlap> sweep(Partition partition, List<Occupancy> occupancies) {
+        List<Occupancy> sorted = new ArrayList<>(occupancies);
+        sorted.sort(Comparator.comparingInt(Occupancy::start).thenComparingInt(Occupancy::end));
+
+        List<Overlap> overlaps = new ArrayList<>();
+        List<Occupancy> active = new ArrayList<>();
+        for (Occupancy current : sorted) {
+            Iterator<Occupancy> it = active.iterator();
+            while (it.hasNext()) {
+                Occupancy open = it.next();
+                if (open.end() <= current.start()) {
+                    it.remove();
+                } else if (open.classId() != current.classId()) {
+                    long first = Math.min(open.classId(), current.classId());
+                    long second = Math.max(open.classId(), current.classId());
+                    overlaps.add(new Overlap(partition.type(), partition.key(), partition.day(), first, second,
+                        current.start(), Math.min(open.end(), current.end())));
+                }
+            }
+            active.add(current);
+        }
+        return overlaps;
+    }
+
+    private record Partition(String type, String key, int day) {}
+
+    private record Occupancy(long classId, int start, int end) {}
+
+    // key is the room code for room overlaps and the teacher id for teacher overlaps;
+    // start and end bound the doubly-booked window
+    public record Overlap(String type, String key, int day, long firstClassId, long secondClassId, int start, int end) {}
+
+    public record AuditReport(int classCount, int slotCount, List<Overlap> overlaps,
+                              Map<Long, Class> classesById, List<Class> invalidSchedules) {}
+}
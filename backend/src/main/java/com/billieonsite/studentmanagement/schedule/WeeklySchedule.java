@@ -0,0 +1,157 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A class's weekly timetable, {"monday":[{"start":"08:00","end":"10:00","room":"A203"}], ...}.
+// Class.schedule maps it straight onto the JSONB column, so a row's schedule is read once when
+// the row is loaded and written back unchanged in responses. The value is immutable, which lets
+// the slot intervals derived from it be computed once and kept with it. Class maps it as immutable,
+// so the second-level cache holds the instance itself (hence Serializable) and hits reuse the slots.
+@JsonDeserialize(using = WeeklySchedule.Deserializer.class)
+public final class WeeklySchedule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final WeeklySchedule EMPTY = new WeeklySchedule(Collections.emptyMap());
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, List<TimeSlot>> days;
+
+    private transient volatile List<SlotInterval> slots;
+
+    public WeeklySchedule(Map<String, List<TimeSlot>> days) {
+        Map<String, List<TimeSlot>> copy = new LinkedHashMap<>();
+        days.forEach((day, timeSlots) -> copy.put(day, Collections.unmodifiableList(new ArrayList<>(timeSlots))));
+        this.days = Collections.unmodifiableMap(copy);
+    }
+
+    // For schedules that arrive as JSON text; throws IllegalArgumentException on malformed JSON
+    public static WeeklySchedule fromJson(String json) {
+        try {
+            return fromTree(objectMapper.readTree(json));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    // Anything that is not an object, and any day that is not an array, carries no slots
+    static WeeklySchedule fromTree(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return EMPTY;
+        }
+        Map<String, List<TimeSlot>> days = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getValue().isArray()) {
+                continue;
+            }
+            List<TimeSlot> timeSlots = new ArrayList<>();
+            for (JsonNode timeSlot : field.getValue()) {
+                timeSlots.add(new TimeSlot(text(timeSlot, "start"), text(timeSlot, "end"), text(timeSlot, "room")));
+            }
+            days.put(field.getKey(), timeSlots);
+        }
+        return new WeeklySchedule(days);
+    }
+
+    private static String text(JsonNode timeSlot, String field) {
+        JsonNode value = timeSlot.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    @JsonValue
+    public Map<String, List<TimeSlot>> getDays() {
+        return days;
+    }
+
+    // Slots in day order; throws IllegalArgumentException when a slot misses a field, has a malformed time
+    // or does not end after it starts
+    public List<SlotInterval> slots() {
+        List<SlotInterval> result = slots;
+        if (result == null) {
+            result = Collections.unmodifiableList(toSlots());
+            slots = result;
+        }
+        return result;
+    }
+
+    private List<SlotInterval> toSlots() {
+        List<SlotInterval> result = new ArrayList<>();
+        for (int day = 0; day < ScheduleParser.DAYS.length; day++) {
+            List<TimeSlot> timeSlots = days.get(ScheduleParser.DAYS[day]);
+            if (timeSlots == null) {
+                continue;
+            }
+            for (TimeSlot timeSlot : timeSlots) {
+                if (timeSlot.start() == null || timeSlot.end() == null || timeSlot.room() == null) {
+                    throw new IllegalArgumentException("Time slot on " + ScheduleParser.DAYS[day] + " must have start, end and room");
+                }
+                int start;
+                int end;
+                try {
+                    start = ScheduleTime.parse(timeSlot.start());
+                    end = ScheduleTime.parse(timeSlot.end());
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException(e.getMessage(), e);
+                }
+                if (start >= end) {
+                    throw new IllegalArgumentException("Time slot on " + ScheduleParser.DAYS[day] + " must end after it starts");
+                }
+                result.add(new SlotInterval(day, start, end, timeSlot.room()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof WeeklySchedule other && days.equals(other.days));
+    }
+
+    @Override
+    public int hashCode() {
+        return days.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return days.toString();
+    }
+
+    public record TimeSlot(String start, String end, String room) implements Serializable {}
+
+    // Accepts the schedule object itself or, as older clients send it, the same JSON as a string
+    public static class Deserializer extends StdDeserializer<WeeklySchedule> {
+
+        public Deserializer() {
+            super(WeeklySchedule.class);
+        }
+
+        @Override
+        public WeeklySchedule deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonNode node = parser.readValueAsTree();
+            if (node != null && node.isTextual()) {
+                node = objectMapper.readTree(node.asText());
+            }
+            return fromTree(node);
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.billieonsite.studentmanagement.security;
 
-import com.billieonsite.studentmanagement.model.User;
-import com.billieonsite.studentmanagement.model.Role;
-import com.billieonsite.studentmanagement.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,11 +22,13 @@ import java.util.Optional;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -36,14 +37,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
             
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                Long userId = jwtUtils.getUserIdFromJwtToken(jwt);
-                String role = jwtUtils.getRoleFromJwtToken(jwt);
+            // One signature check per token, not one per claim; repeat requests hit the verified-token cache
+            JwtClaims claims = jwt != null ? jwtUtils.verify(jwt) : null;
+            
+            if (claims != null) {
+                String username = claims.username();
+                Long userId = claims.userId();
+                String role = claims.role();
                 
-                // Verify user still exists in database
-                Optional<User> user = userRepository.findById(userId);
-                if (user.isPresent() && user.get().getUsername().equals(username)) {
+                // Verify user still exists and the token has not been revoked since it was issued
+                Optional<UserPrincipalCache.CachedUser> user = userPrincipalCache.get(userId);
+                if (user.isPresent() && user.get().accepts(claims)) {
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(
@@ -56,9 +60,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // Set user details in authentication
                     UserPrincipal userPrincipal = new UserPrincipal(
-                        user.get().getId(),
-                        user.get().getUsername(),
-                        user.get().getRole()
+                        user.get().id(),
+                        user.get().username(),
+                        user.get().role()
                     );
                     
                     authentication = new UsernamePasswordAuthenticationToken(
@@ -71,7 +75,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Cannot set user authentication: " + e.getMessage());
+            log.warn("Cannot set user authentication", e);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,11 @@
+package com.billieonsite.studentmanagement.security;
+
+import java.time.Instant;
+
+// What the authentication filter needs from a token whose signature and expiry have been checked
+public record JwtClaims(String username, Long userId, String role, int tokenVersion, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
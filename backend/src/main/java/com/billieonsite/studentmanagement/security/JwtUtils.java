@@ -1,102 +1,197 @@
 package com.billieonsite.studentmanagement.security;
 
+import com.billieonsite.studentmanagement.logging.SampledLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
 public class JwtUtils {
     
+    public static final int VERIFIED_TOKENS_MAXIMUM_SIZE = 10_000;
+    
+    // Expired and forged tokens arrive with every request of a stale or hostile client
+    private static final SampledLogger invalidToken = SampledLogger.of("invalid-token", 20, Duration.ofSeconds(10));
+    
     @Value("${jwt.secret:MySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256Algorithm}")
     private String jwtSecret;
     
     @Value("${jwt.expiration:3600000}") // 1 hour in milliseconds
     private int jwtExpirationMs;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    // Tokens whose signature has already been checked, keyed by the token's SHA-256 so the cache
+    // never holds bearer credentials; each entry expires with its token's own exp claim
+    private final Cache<String, JwtClaims> verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(VERIFIED_TOKENS_MAXIMUM_SIZE)
+        .expireAfter(new Expiry<String, JwtClaims>() {
+            @Override
+            public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                return Math.max(0L, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+            }
+            
+            @Override
+            public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, claims, currentTime);
+            }
+            
+            @Override
+            public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        })
+        .build();
+    
+    // The key and parser are immutable and thread-safe, so they are derived once from the secret
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
-    public String generateJwtToken(String username, Long userId, String role) {
+    public String generateJwtToken(String username, Long userId, String role, int tokenVersion) {
         return Jwts.builder()
                 .subject(username)
                 .claim("userId", userId)
                 .claim("role", role)
+                .claim("tv", tokenVersion)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
     
+    // Parses and verifies the token at most once while it is valid; returns null for a token that
+    // is malformed, forged or expired
+    public JwtClaims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String key = hash(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+        
+        JwtClaims claims = parse(token);
+        if (claims != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+    
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return require(token).username();
     }
     
     public Long getUserIdFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        // Handle both Integer and Long types for userId
-        Object userIdObj = claims.get("userId");
-        if (userIdObj instanceof Integer) {
-            return ((Integer) userIdObj).longValue();
-        } else if (userIdObj instanceof Long) {
-            return (Long) userIdObj;
-        } else {
-            throw new IllegalArgumentException("Invalid userId type in token");
-        }
+        return require(token).userId();
     }
     
     public String getRoleFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("role", String.class);
+        return require(token).role();
     }
     
     public boolean validateJwtToken(String authToken) {
+        return verify(authToken) != null;
+    }
+    
+    public Date getExpirationFromJwtToken(String token) {
+        return Date.from(require(token).expiresAt());
+    }
+    
+    private JwtClaims require(String token) {
+        JwtClaims claims = verify(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
+        return claims;
+    }
+    
+    private JwtClaims parse(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                invalidToken.atWarn().setMessage("Invalid JWT").addKeyValue("reason", "no-expiration").log();
+                return null;
+            }
+            Long userId = userId(claims);
+            if (userId == null) {
+                invalidToken.atWarn().setMessage("Invalid JWT").addKeyValue("reason", "bad-user-id").log();
+                return null;
+            }
+            return new JwtClaims(
+                claims.getSubject(),
+                userId,
+                claims.get("role", String.class),
+                tokenVersion(claims),
+                expiration.toInstant()
+            );
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            logInvalid("malformed", e);
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
+            logInvalid("expired", e);
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            logInvalid("unsupported", e);
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            logInvalid("empty", e);
         } catch (Exception e) {
-            System.err.println("JWT validation error: " + e.getMessage());
+            logInvalid("invalid", e);
         }
         
-        return false;
+        return null;
     }
     
-    public Date getExpirationFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getExpiration();
+    private static void logInvalid(String reason, Exception e) {
+        invalidToken.atWarn().setMessage("Invalid JWT")
+            .addKeyValue("reason", reason)
+            .addKeyValue("detail", e.getMessage())
+            .log();
+    }
+    
+    private static Long userId(Claims claims) {
+        // Handle both Integer and Long types for userId
+        Object userIdObj = claims.get("userId");
+        if (userIdObj instanceof Integer) {
+            return ((Integer) userIdObj).longValue();
+        } else if (userIdObj instanceof Long) {
+            return (Long) userIdObj;
+        }
+        return null;
+    }
+    
+    // Tokens issued before token versions existed carry no "tv" and count as version 0
+    private static int tokenVersion(Claims claims) {
+        Object tokenVersionObj = claims.get("tv");
+        return tokenVersionObj instanceof Number ? ((Number) tokenVersionObj).intValue() : 0;
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,277 @@
+package com.billieonsite.studentmanagement.security;
+
+import com.billieonsite.studentmanagement.logging.SampledLogger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+// Token-bucket rate limits from security.rate-limit.rules, applied ahead of JwtAuthenticationFilter
+// so refused requests never reach a BCrypt hash or a conflict query. Each rule keeps one bucket per
+// client address or per user in its own Caffeine map; idle buckets expire on Caffeine's scheduler
+// thread. Requests matching no rule only pay for the method and path comparison.
+// Responses carry RateLimit-Limit / -Remaining / -Reset for the tightest matching bucket, and a
+// refused request gets a 429 with Retry-After.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final SampledLogger rateLimited = SampledLogger.of("rate-limited", 20, Duration.ofSeconds(10));
+
+    // Sign-in bodies are tiny; anything larger is not read for a username
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private List<Limit> limits = List.of();
+
+    @PostConstruct
+    public void init() {
+        List<Limit> result = new ArrayList<>();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            // A bucket must outlive its refill period, or dropping it would hand out a fresh burst early
+            Duration idleTimeout = rule.getPeriod().compareTo(properties.getIdleTimeout()) > 0
+                ? rule.getPeriod() : properties.getIdleTimeout();
+            Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(idleTimeout)
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+            String method = StringUtils.hasText(rule.getMethod()) ? rule.getMethod().toUpperCase(Locale.ROOT) : null;
+            result.add(new Limit(method, rule.getPath(), rule.getKey(), rule.getCapacity(), rule.getPeriod().toNanos(), buckets));
+        }
+        limits = List.copyOf(result);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        return !properties.isEnabled() || limits.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        long now = System.nanoTime();
+
+        HttpServletRequest forwarded = request;
+        String userKey = null;
+        boolean userResolved = false;
+        TokenBucket.Result tightest = null;
+
+        for (Limit limit : limits) {
+            if (!limit.matches(method, path, pathMatcher)) {
+                continue;
+            }
+
+            String key;
+            if (limit.key() == RateLimitProperties.Key.IP) {
+                key = "ip:" + request.getRemoteAddr();
+            } else {
+                if (!userResolved) {
+                    userResolved = true;
+                    userKey = bearerUserKey(request);
+                    if (userKey == null) {
+                        CachedBodyRequest cached = CachedBodyRequest.of(request);
+                        if (cached != null) {
+                            forwarded = cached;
+                            userKey = usernameKey(cached.body);
+                        }
+                    }
+                }
+                key = userKey;
+            }
+            if (key == null) {
+                continue;
+            }
+
+            TokenBucket.Result result = limit.buckets().get(key, k -> new TokenBucket(limit.capacity(), limit.periodNanos(), now)).tryTake(now);
+            if (!result.allowed()) {
+                rateLimited.atInfo().setMessage("Request rate limited")
+                    .addKeyValue("method", method)
+                    .addKeyValue("path", path)
+                    .addKeyValue("key", limit.key())
+                    .log();
+                reject(response, result);
+                return;
+            }
+            if (tightest == null || result.remaining() < tightest.remaining()) {
+                tightest = result;
+            }
+        }
+
+        if (tightest != null) {
+            writeHeaders(response, tightest);
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private String bearerUserKey(HttpServletRequest request) {
+        String headerAuth = request.getHeader("Authorization");
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            // Served from the verified-token cache that JwtAuthenticationFilter uses right after
+            JwtClaims claims = jwtUtils.verify(headerAuth.substring(7));
+            if (claims != null) {
+                return "id:" + claims.userId();
+            }
+        }
+        return null;
+    }
+
+    private String usernameKey(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            if (username != null && username.isTextual() && !username.asText().isBlank()) {
+                return "name:" + username.asText().trim().toLowerCase(Locale.ROOT);
+            }
+        } catch (IOException e) {
+            // Malformed JSON is left to the controller to reject
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, TokenBucket.Result result) throws IOException {
+        long retryAfter = seconds(result.retryAfterNanos());
+        writeHeaders(response, result);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(objectMapper.writeValueAsString(
+            Map.of("error", "Too many requests, please retry in " + retryAfter + " seconds")));
+    }
+
+    private static void writeHeaders(HttpServletResponse response, TokenBucket.Result result) {
+        response.setHeader(LIMIT_HEADER, String.valueOf(result.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(result.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(seconds(result.resetNanos())));
+    }
+
+    // Rounded up, so a client that waits this long always finds a token
+    private static long seconds(long nanos) {
+        return Math.max(0L, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record Limit(String method, String path, RateLimitProperties.Key key, int capacity, long periodNanos,
+                         Cache<String, TokenBucket> buckets) {
+
+        boolean matches(String requestMethod, String requestPath, AntPathMatcher pathMatcher) {
+            return (method == null || method.equals(requestMethod)) && pathMatcher.match(path, requestPath);
+        }
+    }
+
+    // Keeps the body that was read for the username so the controller can still read it
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        static CachedBodyRequest of(HttpServletRequest request) throws IOException {
+            int length = request.getContentLength();
+            String contentType = request.getContentType();
+            if (length <= 0 || length > MAX_BODY_BYTES
+                || contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE)) {
+                return null;
+            }
+            return new CachedBodyRequest(request, request.getInputStream().readNBytes(length));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is available at once and then fully read
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    Objects.requireNonNull(readListener, "readListener");
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.billieonsite.studentmanagement.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// security.rate-limit.* in application.properties; every rule matching a request takes a token
+// from that client's bucket for the rule, and the request is refused if any bucket is empty
+@ConfigurationProperties(prefix = "security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets untouched this long (or for a rule's period, if longer) are dropped
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Per rule; bounds memory when requests arrive from very many addresses
+    private int maxBuckets = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public enum Key {
+        // The client address
+        IP,
+        // The caller's user id from its bearer token or, when signing in, the username being signed into
+        USER
+    }
+
+    public static class Rule {
+
+        // Any method when unset
+        private String method;
+
+        // Ant-style pattern, e.g. /api/enrollments/**
+        private String path;
+
+        private Key key = Key.IP;
+
+        private int capacity;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Key getKey() {
+            return key;
+        }
+
+        public void setKey(Key key) {
+            this.key = key;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.billieonsite.studentmanagement.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// A token bucket of `capacity` tokens refilled evenly over `period`, kept as a single timestamp:
+// the instant at which the bucket would be full again (the GCRA form of a token bucket). Taking a
+// token is one compare-and-set on that timestamp, so concurrent requests never block each other.
+public final class TokenBucket {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    // System.nanoTime() at which every token will have been refilled
+    private final AtomicLong fullAt;
+
+    // Full at `now`, the same System.nanoTime() reading the first tryTake is given
+    public TokenBucket(int capacity, long periodNanos, long now) {
+        if (capacity < 1 || periodNanos < capacity) {
+            throw new IllegalArgumentException("A bucket needs at least one token and a period of at least one nanosecond per token");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = periodNanos / capacity;
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    public Result tryTake(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long waitNanos = next - burstNanos - now;
+            if (waitNanos > 0) {
+                return new Result(false, capacity, 0, current - now, waitNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Result(true, capacity, (int) ((now + burstNanos - next) / intervalNanos), next - now, 0L);
+            }
+        }
+    }
+
+    public record Result(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {}
+}
@@ -0,0 +1,68 @@
+package com.billieonsite.studentmanagement.security;
+
+import com.billieonsite.studentmanagement.model.Role;
+import com.billieonsite.studentmanagement.model.User;
+import com.billieonsite.studentmanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// The user fields JwtAuthenticationFilter checks a token against, so an authenticated request no
+// longer reads the users table. UserController evicts an entry as soon as the user is changed or
+// deleted; the TTL bounds how long a change made by another instance can go unnoticed. Missing
+// users are cached too, so a deleted user's still-unexpired token is refused without a query.
+@Component
+public class UserPrincipalCache {
+
+    public static final String CACHE_NAME = "userPrincipals";
+    public static final int MAXIMUM_SIZE = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<Long, Optional<CachedUser>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<CachedUser> get(Long userId) {
+        return cache.get(userId, id -> userRepository.findById(id).map(CachedUser::of));
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public record CachedUser(Long id, String username, Role role, int tokenVersion) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getRole(), user.getTokenVersion());
+        }
+
+        // The token must name this user and predate no revocation (role or password change)
+        public boolean accepts(JwtClaims claims) {
+            return username.equals(claims.username()) && tokenVersion == claims.tokenVersion();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.billieonsite.studentmanagement.service;
 
 import com.billieonsite.studentmanagement.model.Class;
 import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.schedule.SlotInterval;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +14,6 @@ public interface IClassService {
     Class createClass(Class classEntity);
     Class updateClass(Long id, Class classDetails);
     void deleteClass(Long id);
+    Class saveWithSchedule(Class classEntity, List<SlotInterval> slots);
+    void backfillScheduleSlots();
 }
\ No newline at end of file
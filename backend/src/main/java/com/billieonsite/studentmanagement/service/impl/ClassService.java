@@ -2,11 +2,22 @@ package com.billieonsite.studentmanagement.service.impl;
 
 import com.billieonsite.studentmanagement.model.Class;
 import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
 import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
 import com.billieonsite.studentmanagement.repository.TeacherRepository;
+import com.billieonsite.studentmanagement.schedule.ScheduleConstraints;
+import com.billieonsite.studentmanagement.schedule.ScheduleParser;
+import com.billieonsite.studentmanagement.schedule.SlotInterval;
 import com.billieonsite.studentmanagement.service.IClassService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +30,12 @@ public class ClassService implements IClassService {
     @Autowired
     private TeacherRepository teacherRepository;
     
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+    
+    @Autowired
+    private ScheduleConstraints scheduleConstraints;
+    
     public List<Class> getAllClasses() {
         return classRepository.findAll();
     }
@@ -35,15 +52,17 @@ public class ClassService implements IClassService {
         return classRepository.findByTitleContainingIgnoreCase(title);
     }
     
+    @Transactional
     public Class createClass(Class classEntity) {
         if (classEntity.getTeacher() != null && classEntity.getTeacher().getId() != null) {
             Teacher teacher = teacherRepository.findById(classEntity.getTeacher().getId())
                 .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + classEntity.getTeacher().getId()));
             classEntity.setTeacher(teacher);
         }
-        return classRepository.save(classEntity);
+        return saveWithSchedule(classEntity, ScheduleParser.parseQuietly(classEntity.getSchedule()));
     }
     
+    @Transactional
     public Class updateClass(Long id, Class classDetails) {
         Class classEntity = classRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
@@ -57,7 +76,7 @@ public class ClassService implements IClassService {
             classEntity.setTeacher(teacher);
         }
         
-        return classRepository.save(classEntity);
+        return saveWithSchedule(classEntity, ScheduleParser.parseQuietly(classEntity.getSchedule()));
     }
     
     public void deleteClass(Long id) {
@@ -65,4 +84,40 @@ public class ClassService implements IClassService {
             .orElseThrow(() -> new RuntimeException("Class not found with id: " + id));
         classRepository.delete(classEntity);
     }
-}
\ No newline at end of file
+    
+    // Saves the class and replaces its normalized schedule_slots rows in the same transaction; a room
+    // overlap fails with a DataIntegrityViolationException, from the exclusion constraint or lockRooms
+    @Transactional
+    public Class saveWithSchedule(Class classEntity, List<SlotInterval> slots) {
+        scheduleConstraints.lockRooms(classEntity.getId(), slots);
+        Class savedClass = classRepository.save(classEntity);
+        scheduleSlotRepository.deleteByClassId(savedClass.getId());
+        scheduleSlotRepository.saveAll(toScheduleSlots(savedClass, slots));
+        return savedClass;
+    }
+    
+    // Normalizes schedules of classes created before schedule_slots existed (or inserted by SQL scripts)
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillScheduleSlots() {
+        for (Class classEntity : classRepository.findWithoutScheduleSlots()) {
+            scheduleSlotRepository.saveAll(toScheduleSlots(classEntity, ScheduleParser.parseQuietly(classEntity.getSchedule())));
+        }
+    }
+    
+    private List<ScheduleSlot> toScheduleSlots(Class classEntity, List<SlotInterval> slots) {
+        List<ScheduleSlot> scheduleSlots = new ArrayList<>(slots.size());
+        for (SlotInterval slot : slots) {
+            scheduleSlots.add(new ScheduleSlot(
+                classEntity,
+                classEntity.getTeacher(),
+                (short) slot.day(),
+                (short) slot.start(),
+                (short) slot.end(),
+                ScheduleParser.roomKey(slot.room())
+            ));
+        }
+        return scheduleSlots;
+    }
+}
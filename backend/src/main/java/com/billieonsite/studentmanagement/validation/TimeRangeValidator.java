@@ -1,10 +1,9 @@
 package com.billieonsite.studentmanagement.validation;
 
 import com.billieonsite.studentmanagement.dto.EnrollmentDto;
+import com.billieonsite.studentmanagement.schedule.ScheduleTime;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 public class TimeRangeValidator implements ConstraintValidator<ValidTimeRange, EnrollmentDto> {
@@ -21,11 +20,10 @@ public class TimeRangeValidator implements ConstraintValidator<ValidTimeRange, E
         }
         
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("H:mm");
-            LocalTime startTime = LocalTime.parse(dto.getStartTime(), formatter);
-            LocalTime endTime = LocalTime.parse(dto.getEndTime(), formatter);
+            int startTime = ScheduleTime.parse(dto.getStartTime());
+            int endTime = ScheduleTime.parse(dto.getEndTime());
             
-            if (!startTime.isBefore(endTime)) {
+            if (startTime >= endTime) {
                 context.disableDefaultConstraintViolation();
                 context.buildConstraintViolationWithTemplate(
                     "Start time (" + dto.getStartTime() + ") must be before end time (" + dto.getEndTime() + ")")
@@ -35,7 +33,7 @@ public class TimeRangeValidator implements ConstraintValidator<ValidTimeRange, E
             }
             
             // Check minimum duration (at least 30 minutes)
-            if (startTime.plusMinutes(30).isAfter(endTime)) {
+            if (startTime + 30 > endTime) {
                 context.disableDefaultConstraintViolation();
                 context.buildConstraintViolationWithTemplate(
                     "Class duration must be at least 30 minutes")
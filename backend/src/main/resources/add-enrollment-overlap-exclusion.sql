@@ -0,0 +1,18 @@
+-- Make overlapping enrollments of one student impossible at the database level (PostgreSQL only)
+-- The application installs this on startup; run it by hand if the database role may not create extensions
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Fill the integer columns for enrollments written before they existed
+UPDATE enrollments SET
+    day_of_week = array_position(ARRAY['monday','tuesday','wednesday','thursday','friday','saturday','sunday'], lower(day)) - 1,
+    start_min = EXTRACT(HOUR FROM start_time::time) * 60 + EXTRACT(MINUTE FROM start_time::time),
+    end_min = EXTRACT(HOUR FROM end_time::time) * 60 + EXTRACT(MINUTE FROM end_time::time)
+WHERE start_min IS NULL AND start_time IS NOT NULL AND end_time IS NOT NULL;
+
+-- Half-open [start_min, end_min) range, so back-to-back slots do not overlap
+ALTER TABLE enrollments ADD COLUMN IF NOT EXISTS time_range int4range
+    GENERATED ALWAYS AS (CASE WHEN start_min < end_min THEN int4range(start_min, end_min) END) STORED;
+
+-- Fails if a student already has overlapping enrollments
+ALTER TABLE enrollments ADD CONSTRAINT enrollments_student_no_overlap
+    EXCLUDE USING gist (student_id WITH =, day_of_week WITH =, time_range WITH &&);
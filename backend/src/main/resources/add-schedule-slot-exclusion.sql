@@ -0,0 +1,12 @@
+-- Make room double-booking impossible at the database level (PostgreSQL only)
+-- The application installs this on startup; run it by hand if the database role may not create extensions
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Half-open [start_min, end_min) range, so back-to-back slots do not overlap; a slot that does not
+-- end after it starts gets no range (int4range would raise an error for it)
+ALTER TABLE schedule_slots ADD COLUMN IF NOT EXISTS slot int4range
+    GENERATED ALWAYS AS (CASE WHEN start_min < end_min THEN int4range(start_min, end_min) END) STORED;
+
+-- Fails if rooms are already double-booked; POST /api/admin/timetable/audit lists the offending classes
+ALTER TABLE schedule_slots ADD CONSTRAINT schedule_slots_room_no_overlap
+    EXCLUDE USING gist (room WITH =, day_of_week WITH =, slot WITH &&);
@@ -2,6 +2,9 @@
 -- Run this script in Supabase SQL editor to clean the database
 
 DROP TABLE IF EXISTS enrollments CASCADE;
+DROP TABLE IF EXISTS schedule_slots CASCADE;
+DROP TABLE IF EXISTS class_slot_counts CASCADE;
+DROP TABLE IF EXISTS room_locks CASCADE;
 DROP TABLE IF EXISTS classes CASCADE;
 DROP TABLE IF EXISTS students CASCADE;
 DROP TABLE IF EXISTS teachers CASCADE;
@@ -0,0 +1,120 @@
+package com.billieonsite.studentmanagement.catalog;
+
+import com.billieonsite.studentmanagement.dto.ClassDto;
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.schedule.ClassChangedEvent;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ClassCatalogSnapshotTest {
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ClassCatalogSnapshot classCatalogSnapshot;
+
+    @TempDir
+    Path directory;
+
+    private Class algebra;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(classCatalogSnapshot, "directory", directory.toString());
+        classCatalogSnapshot.init();
+
+        Teacher teacher = new Teacher("John Smith", "Mathematics");
+        teacher.setId(1L);
+        algebra = new Class();
+        algebra.setId(7L);
+        algebra.setTitle("Algebra");
+        algebra.setSubject("Mathematics");
+        algebra.setSchedule(WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"08:00\",\"end\":\"10:00\",\"room\":\"A203\"}]}"));
+        algebra.setTeacher(teacher);
+        // Lenient: a stale snapshot may also rebuild on the background thread
+        lenient().when(classRepository.findSlice(anyLong(), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(algebra)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        classCatalogSnapshot.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should render the class list to an identity and a gzip file with their own tags")
+    void rebuild_WritesBothEncodings() throws IOException {
+        classCatalogSnapshot.rebuild();
+
+        ClassCatalogSnapshot.Snapshot snapshot = classCatalogSnapshot.current();
+        byte[] expected = new ObjectMapper().writeValueAsBytes(List.of(new ClassDto(
+            7L, "Algebra", algebra.getSchedule(), "Mathematics", 1L, "John Smith")));
+
+        assertThat(snapshot).isNotNull();
+        assertThat(Files.readAllBytes(snapshot.identity().path())).isEqualTo(expected);
+        assertThat(snapshot.identity().length()).isEqualTo(expected.length);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(snapshot.gzip().path()))) {
+            assertThat(in.readAllBytes()).isEqualTo(expected);
+        }
+        assertThat(snapshot.gzip().length()).isEqualTo(Files.size(snapshot.gzip().path()));
+        assertThat(snapshot.identity().etag()).isEqualTo(catalogVersions.classesETag());
+        assertThat(snapshot.gzip().etag()).isNotEqualTo(snapshot.identity().etag()).endsWith("-gzip\"");
+    }
+
+    @Test
+    @DisplayName("Should stop handing out a snapshot once the catalog has changed")
+    void current_StaleAfterChange() throws IOException {
+        classCatalogSnapshot.rebuild();
+        assertThat(classCatalogSnapshot.current()).isNotNull();
+
+        catalogVersions.onClassChanged(ClassChangedEvent.deleted(7L, 1L));
+
+        assertThat(classCatalogSnapshot.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should have no snapshot before the first rebuild")
+    void current_NoneBeforeRebuild() {
+        assertThat(classCatalogSnapshot.current()).isNull();
+    }
+}
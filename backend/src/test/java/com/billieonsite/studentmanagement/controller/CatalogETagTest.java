@@ -0,0 +1,111 @@
+package com.billieonsite.studentmanagement.controller;
+
+import com.billieonsite.studentmanagement.catalog.CatalogVersions;
+import com.billieonsite.studentmanagement.catalog.TeacherChangedEvent;
+import com.billieonsite.studentmanagement.dto.TeacherDto;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.TeacherRepository;
+import com.billieonsite.studentmanagement.schedule.ClassChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogETagTest {
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @InjectMocks
+    private TeacherController teacherController;
+
+    private Teacher teacher;
+
+    @BeforeEach
+    void setUp() {
+        teacher = new Teacher("John Smith", "Mathematics");
+        teacher.setId(1L);
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teachers");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @Test
+    @DisplayName("Should send the list with a strong ETag and revalidation headers")
+    void list_SendsETag() {
+        when(teacherRepository.findSlice(anyLong(), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(teacher)));
+
+        ResponseEntity<List<TeacherDto>> response = teacherController.getAllTeachers(null, null, get(null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().getETag()).isEqualTo(catalogVersions.teachersETag()).doesNotStartWith("W/");
+        assertThat(response.getHeaders().getCacheControl()).contains("no-cache").contains("private");
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without touching the repository")
+    void list_NotModified() {
+        ResponseEntity<List<TeacherDto>> response = teacherController.getAllTeachers(null, null, get(catalogVersions.teachersETag()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        verifyNoInteractions(teacherRepository);
+    }
+
+    @Test
+    @DisplayName("Should send the list again once a teacher has changed")
+    void list_ChangedAfterWrite() {
+        String before = catalogVersions.teachersETag();
+        catalogVersions.onTeacherChanged(TeacherChangedEvent.saved(1L));
+        when(teacherRepository.findSlice(anyLong(), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(teacher)));
+
+        ResponseEntity<List<TeacherDto>> response = teacherController.getAllTeachers(null, null, get(before));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should change the class list tag on class and teacher writes only")
+    void classesETag_FollowsBothTables() {
+        String initial = catalogVersions.classesETag();
+        assertThat(catalogVersions.classesETag()).isEqualTo(initial);
+
+        catalogVersions.onTeacherChanged(TeacherChangedEvent.usernameChanged());
+        String afterTeacher = catalogVersions.classesETag();
+        catalogVersions.onClassChanged(ClassChangedEvent.deleted(5L, 1L));
+
+        assertThat(afterTeacher).isNotEqualTo(initial);
+        assertThat(catalogVersions.classesETag()).isNotEqualTo(afterTeacher);
+    }
+}
@@ -0,0 +1,186 @@
+package com.billieonsite.studentmanagement.controller;
+
+import com.billieonsite.studentmanagement.dto.ClassDto;
+import com.billieonsite.studentmanagement.exception.GlobalExceptionHandler;
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import com.billieonsite.studentmanagement.repository.TeacherRepository;
+import com.billieonsite.studentmanagement.schedule.ParsedScheduleCache;
+import com.billieonsite.studentmanagement.schedule.ScheduleConstraints;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
+import com.billieonsite.studentmanagement.service.IClassService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ClassControllerTest {
+
+    private static final String MONDAY_A203_JSON = "{\"monday\":[{\"start\":\"08:00\",\"end\":\"10:00\",\"room\":\"A203\"}]}";
+    private static final WeeklySchedule MONDAY_A203 = WeeklySchedule.fromJson(MONDAY_A203_JSON);
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @Mock
+    private IClassService classService;
+
+    @Mock
+    private ScheduleConstraints scheduleConstraints;
+
+    @Mock
+    private ParsedScheduleCache parsedScheduleCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ClassController classController;
+
+    private Teacher smith;
+    private Class physics;
+
+    @BeforeEach
+    void setUp() {
+        smith = new Teacher("John Smith", "Mathematics");
+        smith.setId(1L);
+        Teacher doe = new Teacher("Jane Doe", "Physics");
+        doe.setId(2L);
+        physics = new Class("Physics", MONDAY_A203, doe);
+        physics.setId(7L);
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+            new SQLException("ERROR: conflicting key value violates exclusion constraint \"" + constraint + "\""));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> body(ResponseEntity<?> response) {
+        return (Map<String, Object>) response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> conflicts(ResponseEntity<?> response) {
+        return (List<String>) body(response).get("conflicts");
+    }
+
+    @Test
+    @DisplayName("Should answer a room rejected by the exclusion constraint with 400 naming the class holding it")
+    void createClass_RoomOverlapNamesConflict() {
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(smith));
+        when(scheduleConstraints.isRoomExclusionEnforced()).thenReturn(true);
+        when(classService.saveWithSchedule(any(Class.class), anyList()))
+            .thenThrow(violation(ScheduleConstraints.ROOM_OVERLAP_CONSTRAINT));
+        when(scheduleSlotRepository.findRoomConflicts("A203", (short) 0, (short) (8 * 60), (short) (10 * 60), null))
+            .thenReturn(List.of(physics));
+
+        ResponseEntity<?> response = classController.createClass(new ClassDto("Algebra", MONDAY_A203, 1L));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(body(response)).containsEntry("error", "Schedule conflicts detected");
+        assertThat(conflicts(response))
+            .containsExactly("Room A203 conflict on monday 08:00-10:00 with class: Physics (Teacher: Jane Doe)");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should still answer 400 when the conflicting booking can no longer be found")
+    void updateClass_RoomOverlapWithoutNamedConflict() {
+        Class algebra = new Class("Algebra", WeeklySchedule.EMPTY, smith);
+        algebra.setId(3L);
+        when(classRepository.findById(3L)).thenReturn(Optional.of(algebra));
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(smith));
+        when(classService.saveWithSchedule(any(Class.class), anyList()))
+            .thenThrow(violation(ScheduleConstraints.ROOM_OVERLAP_CONSTRAINT));
+
+        ResponseEntity<?> response = classController.updateClass(3L, new ClassDto("Algebra", MONDAY_A203, 1L));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(conflicts(response)).containsExactly("Room is already booked at an overlapping time");
+        // The class's own slots are left out of the lookup, as in the pre-check
+        verify(scheduleSlotRepository, times(2))
+            .findRoomConflicts("A203", (short) 0, (short) (8 * 60), (short) (10 * 60), 3L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations other than the room constraint")
+    void createClass_OtherViolationRethrown() {
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(smith));
+        when(scheduleConstraints.isRoomExclusionEnforced()).thenReturn(true);
+        DataIntegrityViolationException violation = violation("classes_pkey");
+        when(classService.saveWithSchedule(any(Class.class), anyList())).thenThrow(violation);
+
+        assertThatThrownBy(() -> classController.createClass(new ClassDto("Algebra", MONDAY_A203, 1L))).isSameAs(violation);
+        verify(scheduleSlotRepository).findTeacherConflicts(any(), any(Short.class), any(Short.class), any(Short.class), isNull());
+    }
+
+    @Test
+    @DisplayName("Should recognize the room constraint only by its own name")
+    void isRoomOverlap_MatchesConstraintName() {
+        assertThat(ScheduleConstraints.isRoomOverlap(violation(ScheduleConstraints.ROOM_OVERLAP_CONSTRAINT))).isTrue();
+        assertThat(ScheduleConstraints.isRoomOverlap(violation(ScheduleConstraints.STUDENT_OVERLAP_CONSTRAINT))).isFalse();
+        assertThat(ScheduleConstraints.isRoomOverlap(new DataIntegrityViolationException("no cause"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when a concurrent update of the class committed first")
+    void updateClass_ConcurrentUpdateConflict() throws Exception {
+        Class algebra = new Class("Algebra", WeeklySchedule.EMPTY, smith);
+        algebra.setId(3L);
+        when(classRepository.findById(3L)).thenReturn(Optional.of(algebra));
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(smith));
+        when(classService.saveWithSchedule(any(Class.class), anyList()))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Class.class, 3L));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(classController)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+        mockMvc.perform(put("/api/classes/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Algebra\",\"schedule\":" + MONDAY_A203_JSON + ",\"teacherId\":1}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+
+        verifyNoInteractions(eventPublisher);
+    }
+}
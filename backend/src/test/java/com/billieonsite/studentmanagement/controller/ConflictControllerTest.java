@@ -0,0 +1,182 @@
+package com.billieonsite.studentmanagement.controller;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import com.billieonsite.studentmanagement.repository.TeacherRepository;
+import com.billieonsite.studentmanagement.schedule.ScheduleIndex;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConflictControllerTest {
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @Spy
+    private ScheduleIndex scheduleIndex = new ScheduleIndex();
+
+    @InjectMocks
+    private ConflictController conflictController;
+
+    private Class maths;
+    private Class english;
+
+    @BeforeEach
+    void setUp() {
+        Teacher smith = new Teacher("John Smith", "Mathematics");
+        smith.setId(1L);
+        Teacher doe = new Teacher("Jane Doe", "English");
+        doe.setId(2L);
+
+        maths = new Class("Advanced Mathematics", WeeklySchedule.EMPTY, smith);
+        maths.setId(1L);
+        english = new Class("Business English", WeeklySchedule.EMPTY, doe);
+        english.setId(2L);
+
+        // Monday: maths 08:00-10:00 in A203 with Smith, English 10:00-12:00 in B105 with Doe
+        when(scheduleSlotRepository.findAll()).thenReturn(List.of(
+            new ScheduleSlot(maths, smith, (short) 0, (short) (8 * 60), (short) (10 * 60), "A203"),
+            new ScheduleSlot(english, doe, (short) 0, (short) (10 * 60), (short) (12 * 60), "B105")));
+        ReflectionTestUtils.setField(scheduleIndex, "scheduleSlotRepository", scheduleSlotRepository);
+        scheduleIndex.rebuild();
+    }
+
+    private void stubClassLookup() {
+        when(classRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            Set<Long> wanted = new HashSet<>();
+            ids.forEach(wanted::add);
+            return List.of(maths, english).stream().filter(c -> wanted.contains(c.getId())).toList();
+        });
+    }
+
+    private static Map<String, Object> slot(String start, String end, String room) {
+        return Map.of("start", start, "end", end, "room", room);
+    }
+
+    private static Map<String, Object> request(List<Map<String, Object>> monday, Long teacherId, Long excludeClassId) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("schedule", Map.of("monday", monday));
+        request.put("teacherId", teacherId);
+        request.put("excludeClassId", excludeClassId);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> slots(ResponseEntity<Map<String, Object>> response) {
+        return (List<Map<String, Object>>) response.getBody().get("slots");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> conflicts(Map<String, Object> slot, String key) {
+        return (List<Map<String, Object>>) slot.get(key);
+    }
+
+    @Test
+    @DisplayName("Should report overlapping slots within the proposal against each other")
+    void checkBatch_InternalOverlap() {
+        ResponseEntity<Map<String, Object>> response = conflictController.checkBatchConflicts(request(List.of(
+            slot("13:00", "14:00", "C301"),
+            slot("13:30", "14:30", "c301"),
+            slot("13:45", "14:15", "D101")), null, null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("hasConflict")).isEqualTo(true);
+        List<Map<String, Object>> slots = slots(response);
+        assertThat(conflicts(slots.get(0), "internalConflicts")).singleElement()
+            .satisfies(c -> assertThat(c).containsEntry("type", "room").containsEntry("slotIndex", 1));
+        assertThat(conflicts(slots.get(1), "internalConflicts")).singleElement()
+            .satisfies(c -> assertThat(c).containsEntry("type", "room").containsEntry("slotIndex", 0));
+        // Overlaps the other two, but in another room and with no teacher to share
+        assertThat(conflicts(slots.get(2), "internalConflicts")).isEmpty();
+        assertThat(slots.get(2).get("hasConflict")).isEqualTo(false);
+        verifyNoInteractions(classRepository);
+    }
+
+    @Test
+    @DisplayName("Should treat slots that only touch as free, inside the proposal and against stored classes")
+    void checkBatch_TouchingSlots() {
+        when(teacherRepository.existsById(2L)).thenReturn(true);
+
+        ResponseEntity<Map<String, Object>> response = conflictController.checkBatchConflicts(request(List.of(
+            slot("12:00", "13:00", "B105"),
+            slot("13:00", "14:00", "B105"),
+            slot("07:00", "08:00", "A203")), 2L, null));
+
+        assertThat(response.getBody().get("hasConflict")).isEqualTo(false);
+        assertThat(response.getBody().get("message")).isEqualTo("Schedule is available");
+        for (Map<String, Object> slot : slots(response)) {
+            assertThat(conflicts(slot, "roomConflicts")).isEmpty();
+            assertThat(conflicts(slot, "teacherConflicts")).isEmpty();
+            assertThat(conflicts(slot, "internalConflicts")).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the excluded class out of room and teacher conflicts")
+    void checkBatch_ExcludeClassId() {
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+        stubClassLookup();
+
+        ResponseEntity<Map<String, Object>> included = conflictController.checkBatchConflicts(
+            request(List.of(slot("08:30", "09:30", "A203")), 1L, null));
+        ResponseEntity<Map<String, Object>> excluded = conflictController.checkBatchConflicts(
+            request(List.of(slot("08:30", "09:30", "A203")), 1L, 1L));
+
+        assertThat(conflicts(slots(included).get(0), "roomConflicts")).extracting(c -> c.get("classId")).containsExactly(1L);
+        assertThat(conflicts(slots(included).get(0), "teacherConflicts")).extracting(c -> c.get("classId")).containsExactly(1L);
+        assertThat(excluded.getBody().get("hasConflict")).isEqualTo(false);
+        verify(classRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Should report room and teacher conflicts together and load the classes in one query")
+    void checkBatch_RoomAndTeacherConflicts() {
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+        stubClassLookup();
+
+        ResponseEntity<Map<String, Object>> response = conflictController.checkBatchConflicts(request(List.of(
+            slot("09:00", "11:00", "B105")), 1L, null));
+
+        Map<String, Object> slot = slots(response).get(0);
+        assertThat(conflicts(slot, "roomConflicts")).singleElement()
+            .satisfies(c -> assertThat(c).containsEntry("classId", 2L).containsEntry("teacherName", "Jane Doe"));
+        assertThat(conflicts(slot, "teacherConflicts")).singleElement()
+            .satisfies(c -> assertThat(c).containsEntry("classId", 1L).containsEntry("classTitle", "Advanced Mathematics"));
+        assertThat(response.getBody().get("message")).isEqualTo("Schedule has 2 conflict(s)");
+        verify(classRepository, times(1)).findAllById(Set.of(1L, 2L));
+    }
+}
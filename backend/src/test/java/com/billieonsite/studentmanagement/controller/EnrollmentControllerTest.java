@@ -1,6 +1,7 @@
 package com.billieonsite.studentmanagement.controller;
 
 import com.billieonsite.studentmanagement.dto.EnrollmentDto;
+import com.billieonsite.studentmanagement.enrollment.EnrollmentCounters;
 import com.billieonsite.studentmanagement.model.Enrollment;
 import com.billieonsite.studentmanagement.model.Student;
 import com.billieonsite.studentmanagement.model.Class;
@@ -8,6 +9,9 @@ import com.billieonsite.studentmanagement.model.Teacher;
 import com.billieonsite.studentmanagement.repository.EnrollmentRepository;
 import com.billieonsite.studentmanagement.repository.StudentRepository;
 import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.schedule.ScheduleConstraints;
+import com.billieonsite.studentmanagement.security.JwtAuthenticationFilter;
+import com.billieonsite.studentmanagement.security.RateLimitFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,7 +19,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -31,7 +40,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.containsString;
 
-@WebMvcTest(EnrollmentController.class)
+// The JWT and rate-limit filters have their own tests; here Spring Security's test defaults
+// with @WithMockUser stand in for them
+@WebMvcTest(controllers = EnrollmentController.class,
+            excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                                                   classes = {JwtAuthenticationFilter.class, RateLimitFilter.class}))
 @WithMockUser
 class EnrollmentControllerTest {
 
@@ -47,6 +60,12 @@ class EnrollmentControllerTest {
     @MockBean
     private ClassRepository classRepository;
 
+    @MockBean
+    private ScheduleConstraints scheduleConstraints;
+
+    @MockBean
+    private EnrollmentCounters enrollmentCounters;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -90,8 +109,9 @@ class EnrollmentControllerTest {
     @Test
     @DisplayName("Should get all enrollments successfully")
     void getAllEnrollments_Success() throws Exception {
-        List<Enrollment> enrollments = Arrays.asList(testEnrollment);
-        when(enrollmentRepository.findAll()).thenReturn(enrollments);
+        List<EnrollmentDto> enrollments = Arrays.asList(testEnrollmentDto);
+        when(enrollmentRepository.findDtoSlice(eq(0L), isNull(), isNull(), isNull(), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(enrollments));
 
         mockMvc.perform(get("/api/enrollments"))
                 .andExpect(status().isOk())
@@ -104,13 +124,77 @@ class EnrollmentControllerTest {
                 .andExpect(jsonPath("$[0].endTime").value("10:00"))
                 .andExpect(jsonPath("$[0].room").value("A203"));
 
-        verify(enrollmentRepository).findAll();
+        verify(enrollmentRepository).findDtoSlice(eq(0L), isNull(), isNull(), isNull(), any(Pageable.class));
+        // Read as DTO projections, without loading Enrollment entities
+        verifyNoMoreInteractions(enrollmentRepository);
+    }
+
+    @Test
+    @DisplayName("Should page filtered enrollments and return the next cursor")
+    void getAllEnrollments_KeysetPage() throws Exception {
+        List<EnrollmentDto> enrollments = Arrays.asList(testEnrollmentDto);
+        when(enrollmentRepository.findDtoSlice(eq(0L), eq(1L), isNull(), eq("monday"), eq(PageRequest.of(0, 1))))
+            .thenReturn(new SliceImpl<>(enrollments, PageRequest.of(0, 1), true));
+        when(enrollmentRepository.findDtoSlice(eq(1L), eq(1L), isNull(), eq("monday"), eq(PageRequest.of(0, 1))))
+            .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+
+        String cursor = mockMvc.perform(get("/api/enrollments")
+                .param("studentId", "1")
+                .param("day", "Monday")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/enrollments")
+                .param("studentId", "1")
+                .param("day", "monday")
+                .param("limit", "1")
+                .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Should filter by class and day and accept a plain id as the cursor")
+    void getAllEnrollments_ClassAndDayFilter() throws Exception {
+        when(enrollmentRepository.findDtoSlice(eq(5L), isNull(), eq(1L), eq("wednesday"), eq(PageRequest.of(0, 500))))
+            .thenReturn(new SliceImpl<>(List.of(testEnrollmentDto), PageRequest.of(0, 500), false));
+
+        mockMvc.perform(get("/api/enrollments")
+                .param("classId", "1")
+                .param("day", "WEDNESDAY")
+                .param("after", "5")
+                .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].classTitle").value("Advanced Mathematics"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        verify(enrollmentRepository).findDtoSlice(eq(5L), isNull(), eq(1L), eq("wednesday"), eq(PageRequest.of(0, 500)));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid cursor, limit or day")
+    void getAllEnrollments_InvalidPaging() throws Exception {
+        mockMvc.perform(get("/api/enrollments").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/enrollments").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/enrollments").param("limit", "501"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("limit must be between 1 and 500")));
+        mockMvc.perform(get("/api/enrollments").param("day", "someday"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(enrollmentRepository);
     }
 
     @Test
     @DisplayName("Should get enrollment by ID successfully")
     void getEnrollmentById_Success() throws Exception {
-        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(testEnrollment));
+        when(enrollmentRepository.findDtoById(1L)).thenReturn(Optional.of(testEnrollmentDto));
 
         mockMvc.perform(get("/api/enrollments/1"))
                 .andExpect(status().isOk())
@@ -118,45 +202,76 @@ class EnrollmentControllerTest {
                 .andExpect(jsonPath("$.studentName").value("Alice Chen"))
                 .andExpect(jsonPath("$.classTitle").value("Advanced Mathematics"));
 
-        verify(enrollmentRepository).findById(1L);
+        verify(enrollmentRepository).findDtoById(1L);
+        verifyNoMoreInteractions(enrollmentRepository);
     }
 
     @Test
     @DisplayName("Should return 404 when enrollment not found")
     void getEnrollmentById_NotFound() throws Exception {
-        when(enrollmentRepository.findById(999L)).thenReturn(Optional.empty());
+        when(enrollmentRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/enrollments/999"))
                 .andExpect(status().isNotFound());
 
-        verify(enrollmentRepository).findById(999L);
+        verify(enrollmentRepository).findDtoById(999L);
     }
 
     @Test
     @DisplayName("Should get enrollments by student successfully")
     void getEnrollmentsByStudent_Success() throws Exception {
-        List<Enrollment> enrollments = Arrays.asList(testEnrollment);
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
-        when(enrollmentRepository.findByStudent(testStudent)).thenReturn(enrollments);
+        List<EnrollmentDto> enrollments = Arrays.asList(testEnrollmentDto);
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.findDtosByStudentId(1L)).thenReturn(enrollments);
 
         mockMvc.perform(get("/api/enrollments/student/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].studentName").value("Alice Chen"));
 
-        verify(studentRepository).findById(1L);
-        verify(enrollmentRepository).findByStudent(testStudent);
+        verify(studentRepository).existsById(1L);
+        verify(enrollmentRepository).findDtosByStudentId(1L);
+        verifyNoMoreInteractions(enrollmentRepository);
     }
 
     @Test
     @DisplayName("Should return 404 when student not found")
     void getEnrollmentsByStudent_StudentNotFound() throws Exception {
-        when(studentRepository.findById(999L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(999L)).thenReturn(false);
 
         mockMvc.perform(get("/api/enrollments/student/999"))
                 .andExpect(status().isNotFound());
 
-        verify(studentRepository).findById(999L);
+        verify(studentRepository).existsById(999L);
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    @DisplayName("Should get enrollments by class successfully")
+    void getEnrollmentsByClass_Success() throws Exception {
+        List<EnrollmentDto> enrollments = Arrays.asList(testEnrollmentDto);
+        when(classRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.findDtosByClassId(1L)).thenReturn(enrollments);
+
+        mockMvc.perform(get("/api/enrollments/class/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].classTitle").value("Advanced Mathematics"))
+                .andExpect(jsonPath("$[0].teacherName").value("John Smith"));
+
+        verify(classRepository).existsById(1L);
+        verify(enrollmentRepository).findDtosByClassId(1L);
+        verifyNoMoreInteractions(enrollmentRepository);
+    }
+
+    @Test
+    @DisplayName("Should return 404 when class not found")
+    void getEnrollmentsByClass_ClassNotFound() throws Exception {
+        when(classRepository.existsById(999L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/enrollments/class/999"))
+                .andExpect(status().isNotFound());
+
+        verify(classRepository).existsById(999L);
         verifyNoInteractions(enrollmentRepository);
     }
 
@@ -185,6 +300,7 @@ class EnrollmentControllerTest {
         verify(classRepository).findById(1L);
         verify(enrollmentRepository).hasTimeConflict(testStudent, "tuesday", "14:00", "16:00");
         verify(enrollmentRepository).save(any(Enrollment.class));
+        verify(enrollmentCounters).enrolled(testEnrollment);
     }
 
     @Test
@@ -249,6 +365,7 @@ class EnrollmentControllerTest {
 
         verify(enrollmentRepository).hasTimeConflict(testStudent, "monday", "08:30", "10:30");
         verify(enrollmentRepository, never()).save(any());
+        verifyNoInteractions(enrollmentCounters);
     }
 
     @Test
@@ -273,33 +390,62 @@ class EnrollmentControllerTest {
                 .andExpect(content().string(containsString("Student already enrolled in this exact time slot")));
 
         verify(enrollmentRepository).save(any(Enrollment.class));
+        // The failed insert is rolled back, so nothing may be counted for it
+        verifyNoInteractions(enrollmentCounters);
+    }
+
+    @Test
+    @DisplayName("Should return 409 when the database rejects an overlapping enrollment")
+    void createEnrollment_OverlapRejectedByDatabase() throws Exception {
+        EnrollmentDto requestDto = new EnrollmentDto(
+            null, 1L, 1L, null, null, null, null, "monday", "08:30", "10:30", "B105"
+        );
+
+        when(scheduleConstraints.isStudentOverlapEnforced()).thenReturn(true);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(classRepository.findById(1L)).thenReturn(Optional.of(testClass));
+        when(enrollmentRepository.save(any(Enrollment.class)))
+            .thenThrow(new DataIntegrityViolationException(
+                "conflicting key value violates exclusion constraint \"enrollments_student_no_overlap\""));
+
+        mockMvc.perform(post("/api/enrollments")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(containsString("Schedule conflict")));
+
+        verify(enrollmentRepository, never()).hasTimeConflict(any(), any(), any(), any());
+        verifyNoInteractions(enrollmentCounters);
     }
 
     @Test
     @DisplayName("Should delete enrollment successfully")
     void deleteEnrollment_Success() throws Exception {
-        when(enrollmentRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(testEnrollment));
 
         mockMvc.perform(delete("/api/enrollments/1")
                 .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Enrollment deleted successfully"));
 
-        verify(enrollmentRepository).existsById(1L);
-        verify(enrollmentRepository).deleteById(1L);
+        verify(enrollmentRepository).findById(1L);
+        verify(enrollmentRepository).delete(testEnrollment);
+        verify(enrollmentCounters).unenrolled(testEnrollment);
     }
 
     @Test
     @DisplayName("Should return 404 when deleting non-existent enrollment")
     void deleteEnrollment_NotFound() throws Exception {
-        when(enrollmentRepository.existsById(999L)).thenReturn(false);
+        when(enrollmentRepository.findById(999L)).thenReturn(Optional.empty());
 
         mockMvc.perform(delete("/api/enrollments/999")
                 .with(csrf()))
                 .andExpect(status().isNotFound());
 
-        verify(enrollmentRepository).existsById(999L);
-        verify(enrollmentRepository, never()).deleteById(any());
+        verify(enrollmentRepository).findById(999L);
+        verify(enrollmentRepository, never()).delete(any());
+        verify(enrollmentCounters, never()).unenrolled(any());
     }
 
     @Test
@@ -0,0 +1,64 @@
+package com.billieonsite.studentmanagement.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileResponsesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should accept gzip only with a non-zero quality, explicit codings winning over *")
+    void acceptsGzip() {
+        assertThat(FileResponses.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(FileResponses.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(FileResponses.acceptsGzip("*")).isTrue();
+        assertThat(FileResponses.acceptsGzip(null)).isFalse();
+        assertThat(FileResponses.acceptsGzip("identity")).isFalse();
+        assertThat(FileResponses.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(FileResponses.acceptsGzip("gzip;q=0, *")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should copy the file into the response when the container has no sendfile")
+    void sendJson_Copies() throws IOException {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(directory.resolve("classes.json"), body);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileResponses.sendJson(new MockHttpServletRequest("GET", "/api/classes"), response, file, body.length, null);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+        assertThat(response.getContentLengthLong()).isEqualTo(body.length);
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should hand the file to Tomcat's sendfile and write nothing itself when supported")
+    void sendJson_Sendfile() throws IOException {
+        byte[] body = new byte[4096];
+        Path file = Files.write(directory.resolve("classes.json.gz"), body);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/classes");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileResponses.sendJson(request, response, file, body.length, "gzip");
+
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) body.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+    }
+}
@@ -0,0 +1,106 @@
+package com.billieonsite.studentmanagement.dashboard;
+
+import com.billieonsite.studentmanagement.dto.TeacherDashboardDto;
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.EnrollmentRepository;
+import com.billieonsite.studentmanagement.schedule.ClassChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherDashboardCacheTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TeacherDashboardCache teacherDashboardCache;
+
+    private Teacher teacher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(teacherDashboardCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(teacherDashboardCache, "ttl", Duration.ofSeconds(30));
+        teacherDashboardCache.init();
+
+        teacher = new Teacher("John Smith", "Mathematics");
+        teacher.setId(1L);
+        Class algebra = new Class();
+        algebra.setId(10L);
+        algebra.setTitle("Algebra");
+        algebra.setTeacher(teacher);
+        algebra.setEnrolledCount(3);
+        Class geometry = new Class();
+        geometry.setId(11L);
+        geometry.setTitle("Geometry");
+        geometry.setTeacher(teacher);
+
+        when(classRepository.findByTeacher(teacher)).thenReturn(List.of(geometry, algebra));
+        when(enrollmentRepository.countDistinctStudentsByTeacher(1L)).thenReturn(3L);
+    }
+
+    @Test
+    @DisplayName("Should build the dashboard from the class counters and the teacher's distinct total")
+    void get_BuildsDashboard() {
+        TeacherDashboardDto dashboard = teacherDashboardCache.get(teacher);
+
+        assertThat(dashboard.getTeacherName()).isEqualTo("John Smith");
+        assertThat(dashboard.getTotalClasses()).isEqualTo(2);
+        assertThat(dashboard.getTotalStudents()).isEqualTo(3);
+        assertThat(dashboard.getClasses()).extracting("title").containsExactly("Algebra", "Geometry");
+        assertThat(dashboard.getClasses()).extracting("enrolledStudents").containsExactly(3, 0);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the cache until an enrollment of the teacher changes")
+    void get_CachedUntilEnrollmentChanges() {
+        teacherDashboardCache.get(teacher);
+        teacherDashboardCache.get(teacher);
+        verify(enrollmentRepository, times(1)).countDistinctStudentsByTeacher(1L);
+
+        teacherDashboardCache.onEnrollmentChanged(new EnrollmentChangedEvent(10L, 2L, false));
+        teacherDashboardCache.get(teacher);
+        verify(enrollmentRepository, times(1)).countDistinctStudentsByTeacher(1L);
+
+        teacherDashboardCache.onEnrollmentChanged(new EnrollmentChangedEvent(10L, 1L, false));
+        teacherDashboardCache.get(teacher);
+        verify(enrollmentRepository, times(2)).countDistinctStudentsByTeacher(1L);
+    }
+
+    @Test
+    @DisplayName("Should drop the previous teacher's dashboard when a class is reassigned")
+    void onClassChanged_EvictsBothTeachers() {
+        teacherDashboardCache.get(teacher);
+
+        teacherDashboardCache.onClassChanged(new ClassChangedEvent(10L, 2L, 1L, List.of(), false));
+        teacherDashboardCache.get(teacher);
+
+        verify(enrollmentRepository, times(2)).countDistinctStudentsByTeacher(1L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.billieonsite.studentmanagement.enrollment;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.ClassSlotCount;
+import com.billieonsite.studentmanagement.model.Enrollment;
+import com.billieonsite.studentmanagement.model.Student;
+import com.billieonsite.studentmanagement.repository.ClassSlotCountRepository;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Runs on H2, so the slot increment takes the UPDATE-then-INSERT path rather than ON CONFLICT
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EnrollmentCounters.class, EnrollmentCountReconciler.class, SimpleMeterRegistry.class})
+class EnrollmentCountersTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EnrollmentCounters enrollmentCounters;
+
+    @Autowired
+    private EnrollmentCountReconciler enrollmentCountReconciler;
+
+    @Autowired
+    private ClassSlotCountRepository classSlotCountRepository;
+
+    private Class testClass;
+    private Student alice;
+    private Student bob;
+
+    @BeforeEach
+    void setUp() {
+        testClass = new Class();
+        testClass.setTitle("Advanced Mathematics");
+        testClass.setSchedule(WeeklySchedule.EMPTY);
+        entityManager.persist(testClass);
+        alice = entityManager.persist(new Student("Alice Chen", "alice.chen@example.com"));
+        bob = entityManager.persist(new Student("Bob Davis", "bob.davis@example.com"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should count distinct students per class and enrollments per slot")
+    void enrolledAndUnenrolled_MaintainCounts() {
+        Enrollment aliceMonday = enroll(alice, "monday");
+        Enrollment aliceTuesday = enroll(alice, "tuesday");
+        enroll(bob, "monday");
+
+        assertThat(classCount()).isEqualTo(2);
+        assertThat(slotCount("monday")).isEqualTo(2);
+        assertThat(slotCount("tuesday")).isEqualTo(1);
+
+        // Alice keeps her Tuesday slot, so she is still a student of the class
+        unenroll(aliceMonday);
+        assertThat(classCount()).isEqualTo(2);
+        assertThat(slotCount("monday")).isEqualTo(1);
+
+        unenroll(aliceTuesday);
+        assertThat(classCount()).isEqualTo(1);
+        assertThat(slotCount("tuesday")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should recompute drifted and missing counters and drop empty slots")
+    void reconcile_RepairsCounters() {
+        // Enrollments made without the counters, as before they existed
+        entityManager.persist(new Enrollment(testClass, alice, "monday", "09:00", "10:30", "A203"));
+        entityManager.persist(new Enrollment(testClass, bob, "monday", "09:00", "10:30", "A203"));
+        entityManager.flush();
+        jdbcTemplate.update("INSERT INTO class_slot_counts (class_id, day, start_time, end_time, enrolled_count) VALUES (?, 'friday', '09:00', '10:30', 0)",
+            testClass.getId());
+        jdbcTemplate.update("UPDATE classes SET enrolled_count = 7 WHERE id = ?", testClass.getId());
+
+        enrollmentCountReconciler.reconcile();
+
+        assertThat(classCount()).isEqualTo(2);
+        assertThat(classSlotCountRepository.findByClassId(testClass.getId()))
+            .extracting(ClassSlotCount::getDay, ClassSlotCount::getEnrolledCount)
+            .containsExactly(tuple("monday", 2));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM class_slot_counts", Integer.class)).isEqualTo(1);
+    }
+
+    private Enrollment enroll(Student student, String day) {
+        Enrollment enrollment = entityManager.persistAndFlush(new Enrollment(testClass, student, day, "09:00", "10:30", "A203"));
+        enrollmentCounters.enrolled(enrollment);
+        return enrollment;
+    }
+
+    private void unenroll(Enrollment enrollment) {
+        entityManager.remove(enrollment);
+        entityManager.flush();
+        enrollmentCounters.unenrolled(enrollment);
+    }
+
+    private int classCount() {
+        return jdbcTemplate.queryForObject("SELECT enrolled_count FROM classes WHERE id = ?", Integer.class, testClass.getId());
+    }
+
+    private int slotCount(String day) {
+        return jdbcTemplate.queryForObject(
+            "SELECT enrolled_count FROM class_slot_counts WHERE class_id = ? AND day = ? AND start_time = '09:00' AND end_time = '10:30'",
+            Integer.class, testClass.getId(), day);
+    }
+}
@@ -0,0 +1,135 @@
+package com.billieonsite.studentmanagement.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Request throughput, 8 threads, for a request that logs one invalid-token event: the old
+// System.err.println path (a synchronized, flushed console write per request) against SLF4J
+// through the async appender of logback-spring.xml, unsampled and through SampledLogger.
+// "noLogging" is the same request without the event. Output goes to the null device, so the
+// numbers are a floor for a real console or log collector. Once its queue is full the async
+// appender drops events rather than blocking (neverBlock), which is part of what it buys.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.billieonsite.studentmanagement.logging.LoggingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    // Roughly the CPU of a cheap authenticated GET, in JMH's abstract work units
+    private static final long REQUEST_WORK = 2_000;
+
+    private static final String DETAIL = "JWT expired 1200000 milliseconds ago at 2026-01-01T08:00:00.000Z";
+
+    private PrintStream console;
+    private AsyncAppender asyncAppender;
+    private Logger asyncLogger;
+    private SampledLogger sampledLogger;
+
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        String nullDevice = System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null";
+        // Built like System.err: a small buffer flushed on every println
+        console = new PrintStream(new BufferedOutputStream(new FileOutputStream(nullDevice), 128), true);
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m %kvp%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(new FileOutputStream(nullDevice));
+        sink.start();
+
+        asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(sink);
+        asyncAppender.start();
+
+        ch.qos.logback.classic.Logger events = context.getLogger("events");
+        events.detachAndStopAllAppenders();
+        events.setAdditive(false);
+        events.setLevel(ch.qos.logback.classic.Level.INFO);
+        events.addAppender(asyncAppender);
+
+        asyncLogger = LoggerFactory.getLogger("events.invalid-token-unsampled");
+        sampledLogger = SampledLogger.of("invalid-token-benchmark", 20, Duration.ofSeconds(10));
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncAppender.stop();
+        console.close();
+    }
+
+    @Benchmark
+    public void noLogging() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+    }
+
+    @Benchmark
+    public void println() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        console.println("JWT token is expired: " + DETAIL);
+    }
+
+    @Benchmark
+    public void asyncLogger() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        asyncLogger.atWarn().setMessage("Invalid JWT")
+            .addKeyValue("reason", "expired")
+            .addKeyValue("detail", DETAIL)
+            .log();
+    }
+
+    @Benchmark
+    public void sampledAsyncLogger() {
+        Blackhole.consumeCPU(REQUEST_WORK);
+        sampledLogger.atWarn().setMessage("Invalid JWT")
+            .addKeyValue("reason", "expired")
+            .addKeyValue("detail", DETAIL)
+            .log();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.billieonsite.studentmanagement.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledLoggerTest {
+
+    private Logger events;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        events = (Logger) LoggerFactory.getLogger("events.sampled-logger-test");
+        appender = new ListAppender<>();
+        appender.start();
+        events.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        events.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Should write at most the limit per window and report the suppressed count on the next event")
+    void sample_LimitsPerWindow() throws InterruptedException {
+        SampledLogger sampled = SampledLogger.of("sampled-logger-test", 2, Duration.ofMillis(200));
+
+        for (int i = 0; i < 5; i++) {
+            sampled.atWarn().setMessage("Invalid JWT").addKeyValue("reason", "expired").log();
+        }
+        assertThat(appender.list).hasSize(2);
+        assertThat(appender.list.get(0).getKeyValuePairs())
+            .anySatisfy(pair -> assertThat(pair.key).isEqualTo("reason"));
+
+        Thread.sleep(250);
+        sampled.atWarn().setMessage("Invalid JWT").addKeyValue("reason", "expired").log();
+
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list.get(2).getKeyValuePairs())
+            .anySatisfy(pair -> {
+                assertThat(pair.key).isEqualTo("suppressed");
+                assertThat(pair.value).isEqualTo(3L);
+            });
+    }
+
+    @Test
+    @DisplayName("Should share one budget between all callers of a category")
+    void of_SameCategory() {
+        assertThat(SampledLogger.of("shared-category-test", 5, Duration.ofSeconds(1)))
+            .isSameAs(SampledLogger.of("shared-category-test", 50, Duration.ofMinutes(1)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.billieonsite.studentmanagement.repository;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ClassScheduleMappingTest {
+
+    private static final String JSON = "{\"monday\":[{\"start\":\"08:00\",\"end\":\"10:00\",\"room\":\"A203\"}]}";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should keep the loaded schedule as the dirty-check snapshot and not rewrite it on flush")
+    void schedule_NotCopiedOrRewritten() {
+        Class clazz = new Class();
+        clazz.setTitle("Algebra");
+        clazz.setSchedule(WeeklySchedule.fromJson(JSON));
+        Long id = entityManager.persistAndFlush(clazz).getId();
+        entityManager.clear();
+
+        Class loaded = entityManager.find(Class.class, id);
+        EntityEntry entry = entityManager.getEntityManager().unwrap(SessionImplementor.class)
+            .getPersistenceContextInternal().getEntry(loaded);
+        assertThat(entry.getLoadedValue("schedule")).isSameAs(loaded.getSchedule());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        entityManager.flush();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+}
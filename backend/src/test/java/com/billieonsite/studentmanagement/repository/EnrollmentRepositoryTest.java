@@ -1,25 +1,34 @@
 package com.billieonsite.studentmanagement.repository;
 
+import com.billieonsite.studentmanagement.dto.EnrollmentDto;
+import com.billieonsite.studentmanagement.dto.EnrollmentRow;
 import com.billieonsite.studentmanagement.model.Enrollment;
 import com.billieonsite.studentmanagement.model.Student;
 import com.billieonsite.studentmanagement.model.Class;
 import com.billieonsite.studentmanagement.model.Teacher;
 import com.billieonsite.studentmanagement.model.User;
 import com.billieonsite.studentmanagement.model.Role;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@ActiveProfiles("test")
 class EnrollmentRepositoryTest {
 
     @Autowired
@@ -80,7 +89,7 @@ class EnrollmentRepositoryTest {
         testClass = new Class();
         testClass.setTitle("Advanced Mathematics");
         testClass.setTeacher(testTeacher);
-        testClass.setSchedule("{}"); // Set an empty JSON string for schedule
+        testClass.setSchedule(WeeklySchedule.EMPTY); // Set an empty schedule
         entityManager.persist(testClass);
 
         // Create test enrollments
@@ -114,6 +123,60 @@ class EnrollmentRepositoryTest {
         assertThat(enrollments).extracting("student").contains(testStudent1, testStudent2);
     }
 
+    @Test
+    @DisplayName("Should project enrollments with student, class and teacher in one query")
+    void findDtosByClassId_Success() {
+        List<EnrollmentDto> enrollments = enrollmentRepository.findDtosByClassId(testClass.getId());
+
+        assertThat(enrollments).hasSize(2);
+        assertThat(enrollments).extracting("studentName").containsExactly("Alice Chen", "Bob Davis");
+        assertThat(enrollments).extracting("classTitle").containsOnly("Advanced Mathematics");
+        assertThat(enrollments).extracting("teacherName").containsOnly(testTeacher.getName());
+        assertThat(enrollments.get(0).getDay()).isEqualTo("monday");
+        assertThat(enrollments.get(0).getRoom()).isEqualTo("A203");
+    }
+
+    @Test
+    @DisplayName("Should project enrollments of a student and by id")
+    void findDtosByStudentId_Success() {
+        List<EnrollmentDto> enrollments = enrollmentRepository.findDtosByStudentId(testStudent2.getId());
+
+        assertThat(enrollments).hasSize(1);
+        assertThat(enrollments.get(0).getId()).isEqualTo(testEnrollment2.getId());
+        assertThat(enrollments.get(0).getStudentEmail()).isEqualTo("bob.davis@example.com");
+        assertThat(enrollmentRepository.findDtoById(testEnrollment1.getId()))
+            .hasValueSatisfying(dto -> assertThat(dto.getStudentId()).isEqualTo(testStudent1.getId()));
+    }
+
+    @Test
+    @DisplayName("Should return keyset pages in id order with filters")
+    void findDtoSlice_KeysetPages() {
+        Slice<EnrollmentDto> first = enrollmentRepository.findDtoSlice(0L, null, null, null, PageRequest.of(0, 1));
+
+        assertThat(first.getContent()).extracting("id").containsExactly(testEnrollment1.getId());
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<EnrollmentDto> second = enrollmentRepository.findDtoSlice(
+            first.getContent().get(0).getId(), null, null, null, PageRequest.of(0, 1));
+
+        assertThat(second.getContent()).extracting("id").containsExactly(testEnrollment2.getId());
+        assertThat(second.hasNext()).isFalse();
+
+        assertThat(enrollmentRepository.findDtoSlice(0L, null, testClass.getId(), "tuesday", Pageable.unpaged()).getContent())
+            .extracting("studentName").containsExactly("Bob Davis");
+    }
+
+    @Test
+    @DisplayName("Should stream export rows in id order, optionally for one class")
+    void streamRows_Success() {
+        try (Stream<EnrollmentRow> rows = enrollmentRepository.streamRows(null)) {
+            assertThat(rows.map(EnrollmentRow::id)).containsExactly(testEnrollment1.getId(), testEnrollment2.getId());
+        }
+        try (Stream<EnrollmentRow> rows = enrollmentRepository.streamRows(testClass.getId())) {
+            assertThat(rows.map(EnrollmentRow::teacherName)).containsOnly(testTeacher.getName());
+        }
+    }
+
     @Test
     @DisplayName("Should check if specific time slot enrollment exists")
     void existsByStudentAndClassEntityAndDayAndStartTimeAndEndTime_Success() {
@@ -292,4 +355,21 @@ class EnrollmentRepositoryTest {
         // Test time slot spanning both enrollments
         assertThat(enrollmentRepository.hasTimeConflict(testStudent2, "wednesday", "07:00", "17:00")).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should count a teacher's distinct students across classes and slots")
+    void countDistinctStudentsByTeacher_Success() {
+        // A second slot of the same student in the same class is not a second student
+        entityManager.persist(new Enrollment(testClass, testStudent1, "thursday", "08:00", "10:00", "A203"));
+        Class otherClass = new Class();
+        otherClass.setTitle("Statistics");
+        otherClass.setTeacher(testTeacher);
+        otherClass.setSchedule(WeeklySchedule.EMPTY);
+        entityManager.persist(otherClass);
+        entityManager.persist(new Enrollment(otherClass, testStudent1, "friday", "08:00", "10:00", "C301"));
+        entityManager.flush();
+
+        assertThat(enrollmentRepository.countDistinctStudentsByTeacher(testTeacher.getId())).isEqualTo(2L);
+        assertThat(enrollmentRepository.countDistinctStudentsByTeacher(-1L)).isZero();
+    }
+}
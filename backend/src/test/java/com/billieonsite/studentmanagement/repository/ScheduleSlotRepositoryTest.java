@@ -0,0 +1,64 @@
+package com.billieonsite.studentmanagement.repository;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.schedule.WeeklySchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ScheduleSlotRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    private Teacher smith;
+    private Class maths;
+    private Class physics;
+
+    @BeforeEach
+    void setUp() {
+        smith = entityManager.persist(new Teacher("John Smith", "Mathematics"));
+        Teacher doe = entityManager.persist(new Teacher("Jane Doe", "Physics"));
+        maths = entityManager.persist(new Class("Advanced Mathematics", WeeklySchedule.EMPTY, smith));
+        physics = entityManager.persist(new Class("Physics", WeeklySchedule.EMPTY, doe));
+        // Monday: maths holds A203 twice (08:00-09:00 and 09:00-10:00), physics 09:30-11:00 in A203 too
+        entityManager.persist(new ScheduleSlot(maths, smith, (short) 0, (short) (8 * 60), (short) (9 * 60), "A203"));
+        entityManager.persist(new ScheduleSlot(maths, smith, (short) 0, (short) (9 * 60), (short) (10 * 60), "A203"));
+        entityManager.persist(new ScheduleSlot(physics, doe, (short) 0, (short) (9 * 60 + 30), (short) (11 * 60), "A203"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should list each class holding the room once, in id order, and leave out the excluded class")
+    void findRoomConflicts_DistinctClassesInIdOrder() {
+        assertThat(scheduleSlotRepository.findRoomConflicts("A203", (short) 0, (short) (8 * 60 + 30), (short) (10 * 60), null))
+            .extracting(Class::getId).containsExactly(maths.getId(), physics.getId());
+        assertThat(scheduleSlotRepository.findRoomConflicts("A203", (short) 0, (short) (8 * 60 + 30), (short) (10 * 60), maths.getId()))
+            .extracting(Class::getTitle).containsExactly("Physics");
+        // Touching at 11:00, and another day
+        assertThat(scheduleSlotRepository.findRoomConflicts("A203", (short) 0, (short) (11 * 60), (short) (12 * 60), null)).isEmpty();
+        assertThat(scheduleSlotRepository.findRoomConflicts("A203", (short) 1, (short) (8 * 60), (short) (12 * 60), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should list the teacher's overlapping classes once each")
+    void findTeacherConflicts_DistinctClasses() {
+        assertThat(scheduleSlotRepository.findTeacherConflicts(smith.getId(), (short) 0, (short) (8 * 60), (short) (12 * 60), null))
+            .extracting(Class::getId).containsExactly(maths.getId());
+        assertThat(scheduleSlotRepository.findTeacherConflicts(smith.getId(), (short) 0, (short) (10 * 60), (short) (12 * 60), null)).isEmpty();
+    }
+}
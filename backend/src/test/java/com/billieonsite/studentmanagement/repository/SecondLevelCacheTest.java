@@ -0,0 +1,83 @@
+package com.billieonsite.studentmanagement.repository;
+
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.Cache;
+import javax.cache.Caching;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not wrapped in a test transaction: a READ_WRITE region is only filled once the inserting
+// transaction commits, so every repository call here runs and commits on its own
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Repeated findById is served from the second-level cache without SQL")
+    void repeatedFindByIdSkipsTheDatabase() {
+        Long id = teacherRepository.save(new Teacher("Ada Lovelace", "Mathematics")).getId();
+        // IDENTITY inserts are not cached, so the first read goes to the database and fills the region
+        assertThat(teacherRepository.findById(id)).isPresent();
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        // Each call opens a new persistence context, so only the second-level cache can answer
+        for (int i = 0; i < 3; i++) {
+            assertThat(teacherRepository.findById(id)).get()
+                .extracting(Teacher::getName).isEqualTo("Ada Lovelace");
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits + 3);
+        assertThat(statistics.getDomainDataRegionStatistics("teachers").getHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("The teachers region is the Caffeine cache configured in application.conf")
+    void regionUsesApplicationConf() {
+        Cache<?, ?> region = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager().getCache("teachers");
+
+        assertThat(region).isNotNull();
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<?, ?> configuration = region.getConfiguration(CaffeineConfiguration.class);
+        assertThat(configuration.getMaximumSize()).hasValue(1_000L);
+        assertThat(configuration.getExpireAfterWrite()).hasValue(Duration.ofMinutes(60).toNanos());
+    }
+}
@@ -0,0 +1,106 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParsedScheduleCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ParsedScheduleCache parsedScheduleCache;
+    private Class maths;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        parsedScheduleCache = new ParsedScheduleCache();
+        ReflectionTestUtils.setField(parsedScheduleCache, "meterRegistry", meterRegistry);
+        parsedScheduleCache.registerMetrics();
+
+        maths = new Class("Advanced Mathematics",
+            WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"08:00\",\"end\":\"10:00\",\"room\":\"A203\"}]," +
+                "\"friday\":[{\"start\":\"13:30\",\"end\":\"15:00\",\"room\":\"B105\"}]}"), null);
+        maths.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Should pack slots into primitives and unpack them unchanged")
+    void compactSchedule_RoundTrips() {
+        CompactSchedule schedule = parsedScheduleCache.get(maths);
+
+        assertThat(schedule.isValid()).isTrue();
+        assertThat(schedule.size()).isEqualTo(2);
+        assertThat(schedule.day(1)).isEqualTo(4);
+        assertThat(schedule.start(1)).isEqualTo(13 * 60 + 30);
+        assertThat(schedule.end(1)).isEqualTo(15 * 60);
+        assertThat(schedule.room(1)).isEqualTo("B105");
+        assertThat(schedule.toSlots()).containsExactly(
+            new SlotInterval(0, 480, 600, "A203"),
+            new SlotInterval(4, 810, 900, "B105"));
+        assertThat(CompactSchedule.of(schedule.toSlots())).isEqualTo(schedule);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache and count hits and misses")
+    void get_CountsHitsAndMisses() {
+        CompactSchedule first = parsedScheduleCache.get(maths);
+        CompactSchedule second = parsedScheduleCache.get(maths);
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ParsedScheduleCache.CACHE_NAME).tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ParsedScheduleCache.CACHE_NAME).tag("result", "miss")
+            .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should drop a class's entry when it changes")
+    void onClassChanged_EvictsClass() {
+        CompactSchedule first = parsedScheduleCache.get(maths);
+        maths.setSchedule(WeeklySchedule.EMPTY);
+
+        parsedScheduleCache.onClassChanged(ClassChangedEvent.saved(maths, null, List.of()));
+
+        assertThat(parsedScheduleCache.get(maths)).isNotSameAs(first).isEqualTo(CompactSchedule.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should re-parse when the class version moves past the cached entry")
+    void get_NewVersionReparses() {
+        CompactSchedule first = parsedScheduleCache.get(maths);
+        maths.setSchedule(WeeklySchedule.EMPTY);
+        ReflectionTestUtils.setField(maths, "version", 1L);
+
+        assertThat(parsedScheduleCache.get(maths)).isNotSameAs(first).isEqualTo(CompactSchedule.EMPTY);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ParsedScheduleCache.CACHE_NAME).tag("result", "miss")
+            .functionCounter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the newest version when an older copy of the class is read")
+    void get_OlderVersionKeepsNewerEntry() {
+        Class stale = new Class("Advanced Mathematics", maths.getSchedule(), null);
+        stale.setId(1L);
+        maths.setSchedule(WeeklySchedule.EMPTY);
+        ReflectionTestUtils.setField(maths, "version", 1L);
+        parsedScheduleCache.put(maths, CompactSchedule.EMPTY);
+
+        assertThat(parsedScheduleCache.get(stale).size()).isEqualTo(2);
+        assertThat(parsedScheduleCache.get(maths)).isSameAs(CompactSchedule.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should mark malformed stored schedules invalid")
+    void get_InvalidSchedule() {
+        maths.setSchedule(WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"8am\",\"end\":\"10:00\",\"room\":\"A203\"}]}"));
+
+        assertThat(parsedScheduleCache.get(maths).isValid()).isFalse();
+    }
+}
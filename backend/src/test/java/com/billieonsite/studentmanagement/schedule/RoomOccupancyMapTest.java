@@ -0,0 +1,68 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomOccupancyMapTest {
+
+    @Mock
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @InjectMocks
+    private RoomOccupancyMap roomOccupancyMap;
+
+    @BeforeEach
+    void setUp() {
+        Class maths = new Class();
+        maths.setId(1L);
+        Class english = new Class();
+        english.setId(2L);
+
+        when(scheduleSlotRepository.findAll()).thenReturn(Arrays.asList(
+            new ScheduleSlot(maths, null, (short) 0, (short) (8 * 60), (short) (10 * 60), "A203"),
+            new ScheduleSlot(english, null, (short) 0, (short) (10 * 60), (short) (12 * 60), "A203"),
+            new ScheduleSlot(english, null, (short) 6, (short) (23 * 60), (short) (23 * 60 + 59), "B105")));
+        roomOccupancyMap.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should report overlapping ranges as taken and adjacent ranges as free")
+    void isFree_Boundaries() {
+        assertThat(roomOccupancyMap.isFree("a203", 0, 9 * 60, 9 * 60 + 30)).isFalse();
+        assertThat(roomOccupancyMap.isFree("A203", 0, 7 * 60, 8 * 60)).isTrue();
+        assertThat(roomOccupancyMap.isFree("A203", 0, 12 * 60, 13 * 60)).isTrue();
+        assertThat(roomOccupancyMap.isFree("A203", 1, 9 * 60, 10 * 60)).isTrue();
+        assertThat(roomOccupancyMap.isFree("B105", 6, 23 * 60 + 55, 23 * 60 + 59)).isFalse();
+        assertThat(roomOccupancyMap.isFree("C001", 0, 0, 23 * 60)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep bits of other classes in the room when one class moves")
+    void onClassChanged_RecomputesTouchedRooms() {
+        roomOccupancyMap.onClassChanged(new ClassChangedEvent(1L, null, null,
+            Arrays.asList(new SlotInterval(1, 14 * 60, 16 * 60, "B105")), false));
+
+        assertThat(roomOccupancyMap.isFree("A203", 0, 8 * 60, 10 * 60)).isTrue();
+        assertThat(roomOccupancyMap.isFree("A203", 0, 10 * 60, 12 * 60)).isFalse();
+        assertThat(roomOccupancyMap.isFree("B105", 1, 15 * 60, 17 * 60)).isFalse();
+
+        roomOccupancyMap.onClassChanged(ClassChangedEvent.deleted(2L, null));
+
+        assertThat(roomOccupancyMap.isFree("A203", 0, 0, 23 * 60)).isTrue();
+        assertThat(roomOccupancyMap.rooms()).containsExactly("B105");
+    }
+}
@@ -0,0 +1,133 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import com.billieonsite.studentmanagement.service.impl.ClassService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs on H2, which has no exclusion constraints, so every save goes through the room lock and
+// re-check. The saves commit on their own, so the test does not run in a transaction.
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ClassService.class, ScheduleConstraints.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ScheduleConstraintsTest {
+
+    @Autowired
+    private ClassService classService;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        scheduleSlotRepository.deleteAll();
+        classRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM room_locks");
+    }
+
+    private Class save(String title, SlotInterval... slots) {
+        return classService.saveWithSchedule(new Class(title, WeeklySchedule.EMPTY, null), List.of(slots));
+    }
+
+    @Test
+    @DisplayName("Should reject a room booked at an overlapping time as a violation of the room constraint")
+    void saveWithSchedule_RejectsRoomOverlap() {
+        Class maths = save("Advanced Mathematics", new SlotInterval(0, 8 * 60, 10 * 60, "A203"));
+
+        assertThatThrownBy(() -> save("Physics", new SlotInterval(0, 9 * 60, 11 * 60, " a203 ")))
+            .isInstanceOfSatisfying(DataIntegrityViolationException.class,
+                e -> assertThat(ScheduleConstraints.isRoomOverlap(e)).isTrue());
+        // Touching slots, another day and another room are all free
+        save("Chemistry", new SlotInterval(0, 10 * 60, 11 * 60, "A203"), new SlotInterval(1, 9 * 60, 10 * 60, "A203"),
+            new SlotInterval(0, 9 * 60, 10 * 60, "B105"));
+        // A class may keep its own room when it is saved again
+        classService.saveWithSchedule(maths, List.of(new SlotInterval(0, 7 * 60, 9 * 60, "A203")));
+
+        assertThat(classRepository.findAll()).extracting(Class::getTitle)
+            .containsExactlyInAnyOrder("Advanced Mathematics", "Chemistry");
+        assertThat(scheduleSlotRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should reject a schedule that books one room twice at once")
+    void saveWithSchedule_RejectsInternalOverlap() {
+        assertThatThrownBy(() -> save("Physics",
+            new SlotInterval(2, 9 * 60, 11 * 60, "C301"), new SlotInterval(2, 10 * 60, 12 * 60, "c301")))
+            .isInstanceOfSatisfying(DataIntegrityViolationException.class,
+                e -> assertThat(ScheduleConstraints.isRoomOverlap(e)).isTrue());
+        assertThat(classRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent save of the same room wait for the first and then see its booking")
+    void saveWithSchedule_SerializesConcurrentSaves() throws Exception {
+        CountDownLatch saved = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // The first save holds its transaction (and the new room's lock) open until released
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            save("Advanced Mathematics", new SlotInterval(4, 8 * 60, 10 * 60, "D101"));
+            saved.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(saved.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Class> second = CompletableFuture.supplyAsync(
+            () -> save("Physics", new SlotInterval(4, 9 * 60, 11 * 60, "D101")));
+        Thread.sleep(200);
+        assertThat(second).isNotDone();
+
+        commit.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        assertThat(classRepository.findAll()).extracting(Class::getTitle).containsExactly("Advanced Mathematics");
+    }
+
+    @Test
+    @DisplayName("Should install each constraint from the resource script that creates it")
+    void scripts_CreateTheirConstraints() throws Exception {
+        assertThat(new ClassPathResource(ScheduleConstraints.ROOM_OVERLAP_SCRIPT).getContentAsString(StandardCharsets.UTF_8))
+            .contains("ADD CONSTRAINT " + ScheduleConstraints.ROOM_OVERLAP_CONSTRAINT);
+        assertThat(new ClassPathResource(ScheduleConstraints.STUDENT_OVERLAP_SCRIPT).getContentAsString(StandardCharsets.UTF_8))
+            .contains("ADD CONSTRAINT " + ScheduleConstraints.STUDENT_OVERLAP_CONSTRAINT);
+    }
+}
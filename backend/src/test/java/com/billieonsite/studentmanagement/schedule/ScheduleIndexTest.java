@@ -0,0 +1,112 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.ScheduleSlot;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ScheduleSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleIndexTest {
+
+    @Mock
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @InjectMocks
+    private ScheduleIndex scheduleIndex;
+
+    private Teacher testTeacher;
+
+    @BeforeEach
+    void setUp() {
+        testTeacher = new Teacher();
+        testTeacher.setId(1L);
+        testTeacher.setName("John Smith");
+
+        Class maths = new Class("Advanced Mathematics",
+            WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"08:00\",\"end\":\"10:00\",\"room\":\"A203\"}],\"friday\":[]}"), testTeacher);
+        maths.setId(1L);
+
+        Class english = new Class("Business English",
+            WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"10:00\",\"end\":\"12:00\",\"room\":\"a203\"}]}"), null);
+        english.setId(2L);
+
+        when(scheduleSlotRepository.findAll()).thenReturn(Arrays.asList(
+            new ScheduleSlot(maths, testTeacher, (short) 0, (short) (8 * 60), (short) (10 * 60), "A203"),
+            new ScheduleSlot(english, null, (short) 0, (short) (10 * 60), (short) (12 * 60), "A203")));
+        scheduleIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should find overlapping classes in the same room regardless of case")
+    void findRoomConflicts_Overlap() {
+        assertThat(scheduleIndex.findRoomConflicts("a203", 0, 9 * 60, 11 * 60, null)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should treat back-to-back slots as free")
+    void findRoomConflicts_Adjacent() {
+        assertThat(scheduleIndex.findRoomConflicts("A203", 0, 12 * 60, 13 * 60, null)).isEmpty();
+        assertThat(scheduleIndex.findRoomConflicts("A203", 0, 7 * 60, 8 * 60, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should skip the excluded class")
+    void findRoomConflicts_ExcludeClass() {
+        assertThat(scheduleIndex.findRoomConflicts("A203", 0, 9 * 60, 11 * 60, 1L)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should find teacher conflicts only for that teacher's classes")
+    void findTeacherConflicts_Overlap() {
+        assertThat(scheduleIndex.findTeacherConflicts(1L, 0, 9 * 60, 11 * 60, null)).containsExactly(1L);
+        assertThat(scheduleIndex.findTeacherConflicts(1L, 4, 9 * 60, 11 * 60, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow class updates and deletions")
+    void onClassChanged_UpdatesIndex() {
+        scheduleIndex.onClassChanged(new ClassChangedEvent(1L, 1L, 1L,
+            ScheduleParser.parse("{\"tuesday\":[{\"start\":\"14:00\",\"end\":\"16:00\",\"room\":\"B105\"}]}"), false));
+
+        assertThat(scheduleIndex.findRoomConflicts("A203", 0, 8 * 60, 10 * 60, null)).isEmpty();
+        assertThat(scheduleIndex.findRoomConflicts("B105", 1, 15 * 60, 17 * 60, null)).containsExactly(1L);
+
+        scheduleIndex.onClassChanged(ClassChangedEvent.deleted(1L, 1L));
+
+        assertThat(scheduleIndex.findRoomConflicts("B105", 1, 15 * 60, 17 * 60, null)).isEmpty();
+        assertThat(scheduleIndex.findTeacherConflicts(1L, 1, 15 * 60, 17 * 60, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep a class change that arrives while a rebuild is reading the slots")
+    void rebuild_DoesNotOverwriteConcurrentChange() throws Exception {
+        List<ScheduleSlot> snapshot = scheduleSlotRepository.findAll();
+        Thread change = new Thread(() -> scheduleIndex.onClassChanged(ClassChangedEvent.deleted(1L, 1L)));
+        doAnswer(invocation -> {
+            // The change is published after the snapshot was read; it must wait for the rebuild
+            change.start();
+            change.join(200);
+            return snapshot;
+        }).when(scheduleSlotRepository).findAll();
+
+        scheduleIndex.rebuild();
+        change.join();
+
+        assertThat(scheduleIndex.findRoomConflicts("A203", 0, 8 * 60, 10 * 60, null)).isEmpty();
+        assertThat(scheduleIndex.findTeacherConflicts(1L, 0, 8 * 60, 10 * 60, null)).isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// ScheduleTime against the LocalTime paths it replaced: a formatter built per call (the old
+// TimeRangeValidator) and a shared static formatter (the old ScheduleParser).
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.billieonsite.studentmanagement.schedule.ScheduleTimeBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleTimeBenchmark {
+
+    private static final DateTimeFormatter H_MM = DateTimeFormatter.ofPattern("H:mm");
+
+    private final String[] times = {"08:00", "9:30", "13:45", "17:15", "23:59"};
+
+    @Benchmark
+    public void localTimeNewFormatter(Blackhole blackhole) {
+        for (String time : times) {
+            LocalTime parsed = LocalTime.parse(time, DateTimeFormatter.ofPattern("H:mm"));
+            blackhole.consume(parsed.getHour() * 60 + parsed.getMinute());
+        }
+    }
+
+    @Benchmark
+    public void localTimeSharedFormatter(Blackhole blackhole) {
+        for (String time : times) {
+            LocalTime parsed = LocalTime.parse(time, H_MM);
+            blackhole.consume(parsed.getHour() * 60 + parsed.getMinute());
+        }
+    }
+
+    @Benchmark
+    public void scheduleTime(Blackhole blackhole) {
+        for (String time : times) {
+            blackhole.consume(ScheduleTime.parse(time));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScheduleTimeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,37 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleTimeTest {
+
+    @Test
+    @DisplayName("Should parse H:mm and HH:mm to minute of day")
+    void parse_ValidTimes() {
+        assertThat(ScheduleTime.parse("0:00")).isEqualTo(0);
+        assertThat(ScheduleTime.parse("9:05")).isEqualTo(545);
+        assertThat(ScheduleTime.parse("09:05")).isEqualTo(545);
+        assertThat(ScheduleTime.parse("23:59")).isEqualTo(1439);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed and out-of-range times")
+    void parse_InvalidTimes() {
+        for (String time : new String[] {"24:00", "12:60", "1:5", "12:5a", " 9:00", "9:00 ", "12345", "", "-1:00"}) {
+            assertThatThrownBy(() -> ScheduleTime.parse(time)).isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should format with two-digit hours")
+    void format_RoundTrips() {
+        assertThat(ScheduleTime.format(545)).isEqualTo("09:05");
+        assertThat(ScheduleTime.format(1439)).isEqualTo("23:59");
+        assertThat(ScheduleTime.parse(ScheduleTime.format(754))).isEqualTo(754);
+    }
+}
@@ -0,0 +1,109 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.schedule.TeacherAvailabilityCache.Range;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherAvailabilityCacheTest {
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Spy
+    private ParsedScheduleCache parsedScheduleCache = new ParsedScheduleCache();
+
+    @InjectMocks
+    private TeacherAvailabilityCache teacherAvailabilityCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Teacher teacher;
+    private Class maths;
+    private Class physics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(parsedScheduleCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(teacherAvailabilityCache, "meterRegistry", meterRegistry);
+        parsedScheduleCache.registerMetrics();
+        teacherAvailabilityCache.registerMetrics();
+
+        teacher = new Teacher("John Smith", "Mathematics");
+        teacher.setId(1L);
+        // Monday 08:00-10:00 and 09:30-11:00 overlap, 11:00-12:00 touches; Friday stays separate
+        maths = new Class("Advanced Mathematics",
+            WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"08:00\",\"end\":\"10:00\",\"room\":\"A203\"}," +
+                "{\"start\":\"11:00\",\"end\":\"12:00\",\"room\":\"A203\"}]}"), teacher);
+        maths.setId(1L);
+        physics = new Class("Physics",
+            WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"09:30\",\"end\":\"11:00\",\"room\":\"B105\"}]," +
+                "\"friday\":[{\"start\":\"13:00\",\"end\":\"14:00\",\"room\":\"B105\"}]}"), teacher);
+        physics.setId(2L);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", TeacherAvailabilityCache.CACHE_NAME).tag("result", result)
+            .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping and touching slots and serve repeated reads from the cache")
+    void busyRanges_MergesAndCaches() {
+        when(classRepository.findByTeacher(teacher)).thenReturn(List.of(maths, physics));
+
+        List<List<Range>> busy = teacherAvailabilityCache.busyRanges(teacher);
+
+        assertThat(busy.get(0)).containsExactly(new Range(8 * 60, 12 * 60));
+        assertThat(busy.get(4)).containsExactly(new Range(13 * 60, 14 * 60));
+        assertThat(teacherAvailabilityCache.busyRanges(teacher)).isSameAs(busy);
+        assertThat(teacherAvailabilityCache.freeRanges(teacher, 0, 60))
+            .containsExactly(new Range(0, 8 * 60), new Range(12 * 60, TeacherAvailabilityCache.DAY_MINUTES));
+        verify(classRepository, times(1)).findByTeacher(teacher);
+        assertThat(gets("miss")).isEqualTo(1.0);
+        assertThat(gets("hit")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should reload a teacher after one of their classes changes")
+    void onClassChanged_EvictsTeacher() {
+        when(classRepository.findByTeacher(teacher)).thenReturn(List.of(maths), List.of(maths, physics));
+
+        assertThat(teacherAvailabilityCache.busyRanges(teacher).get(4)).isEmpty();
+        teacherAvailabilityCache.onClassChanged(ClassChangedEvent.saved(physics, null, List.of()));
+
+        assertThat(teacherAvailabilityCache.busyRanges(teacher).get(4)).containsExactly(new Range(13 * 60, 14 * 60));
+        verify(classRepository, times(2)).findByTeacher(teacher);
+    }
+
+    @Test
+    @DisplayName("Should not keep ranges loaded while a class change was being applied")
+    void busyRanges_LoadRacingChangeIsNotCached() {
+        when(classRepository.findByTeacher(teacher)).thenAnswer(invocation -> {
+            // The class is moved to Friday while its old schedule is being read
+            teacherAvailabilityCache.onClassChanged(ClassChangedEvent.saved(physics, null, List.of()));
+            return List.of(maths);
+        }).thenReturn(List.of(maths, physics));
+
+        assertThat(teacherAvailabilityCache.busyRanges(teacher).get(4)).isEmpty();
+        assertThat(teacherAvailabilityCache.busyRanges(teacher).get(4)).containsExactly(new Range(13 * 60, 14 * 60));
+    }
+}
@@ -0,0 +1,137 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.billieonsite.studentmanagement.controller.TimetableAdminController;
+import com.billieonsite.studentmanagement.model.Class;
+import com.billieonsite.studentmanagement.model.Teacher;
+import com.billieonsite.studentmanagement.repository.ClassRepository;
+import com.billieonsite.studentmanagement.schedule.TimetableAuditor.AuditReport;
+import com.billieonsite.studentmanagement.schedule.TimetableAuditor.Overlap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableAuditorTest {
+
+    @Mock
+    private ClassRepository classRepository;
+
+    @Spy
+    private ParsedScheduleCache parsedScheduleCache = new ParsedScheduleCache();
+
+    @InjectMocks
+    private TimetableAuditor timetableAuditor;
+
+    private Teacher smith;
+    private Teacher doe;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(parsedScheduleCache, "meterRegistry", new SimpleMeterRegistry());
+        parsedScheduleCache.registerMetrics();
+
+        smith = new Teacher("John Smith", "Mathematics");
+        smith.setId(1L);
+        doe = new Teacher("Jane Doe", "English");
+        doe.setId(2L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timetableAuditor.shutdown();
+    }
+
+    private static Class clazz(long id, String schedule, Teacher teacher) {
+        Class clazz = new Class("Class " + id, WeeklySchedule.fromJson(schedule), teacher);
+        clazz.setId(id);
+        return clazz;
+    }
+
+    private static String slot(String start, String end, String room) {
+        return "{\"start\":\"" + start + "\",\"end\":\"" + end + "\",\"room\":\"" + room + "\"}";
+    }
+
+    @Test
+    @DisplayName("Should report every room and teacher double-booking per day, ignoring slots that only touch")
+    void audit_FindsOverlapsPerPartition() {
+        when(classRepository.findAllWithTeacher()).thenReturn(List.of(
+            // Monday A203: 1, 2 and 3 overlap pairwise; 4 starts when 2 ends. Tuesday: 1 ends when 5 starts
+            clazz(1, "{\"monday\":[" + slot("08:00", "10:00", "A203") + "],\"tuesday\":[" + slot("08:00", "09:00", "A203") + "]}", smith),
+            clazz(2, "{\"monday\":[" + slot("09:00", "11:00", "a203") + "]}", doe),
+            clazz(3, "{\"monday\":[" + slot("09:30", "10:30", "A203") + "]}", doe),
+            clazz(4, "{\"monday\":[" + slot("11:00", "12:00", "A203") + "]}", null),
+            // Smith again, in another room: a teacher clash on Monday, touching on Tuesday
+            clazz(5, "{\"monday\":[" + slot("09:00", "10:00", "B105") + "],\"tuesday\":[" + slot("09:00", "10:00", "A203") + "]}", smith),
+            clazz(6, "{\"monday\":[" + slot("8am", "10:00", "A203") + "]}", smith)));
+
+        AuditReport report = timetableAuditor.audit();
+
+        assertThat(report.classCount()).isEqualTo(6);
+        assertThat(report.slotCount()).isEqualTo(7);
+        assertThat(report.invalidSchedules()).extracting(Class::getId).containsExactly(6L);
+        assertThat(report.overlaps()).containsExactly(
+            new Overlap(TimetableAuditor.ROOM, "A203", 0, 1, 2, 9 * 60, 10 * 60),
+            new Overlap(TimetableAuditor.ROOM, "A203", 0, 1, 3, 9 * 60 + 30, 10 * 60),
+            new Overlap(TimetableAuditor.ROOM, "A203", 0, 2, 3, 9 * 60 + 30, 10 * 60 + 30),
+            new Overlap(TimetableAuditor.TEACHER, "1", 0, 1, 5, 9 * 60, 10 * 60),
+            new Overlap(TimetableAuditor.TEACHER, "2", 0, 2, 3, 9 * 60 + 30, 10 * 60 + 30));
+        assertThat(report.classesById()).containsKeys(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    @DisplayName("Should collect the overlaps of many partitions swept in parallel in a stable order")
+    void audit_ManyPartitions() {
+        List<Class> classes = new ArrayList<>();
+        for (int room = 0; room < 200; room++) {
+            String code = "R" + room;
+            classes.add(clazz(2L * room + 1, "{\"friday\":[" + slot("08:00", "09:00", code) + "]}", null));
+            classes.add(clazz(2L * room + 2, "{\"friday\":[" + slot("08:30", "09:30", code) + "]}", null));
+        }
+        when(classRepository.findAllWithTeacher()).thenReturn(classes);
+
+        List<Overlap> overlaps = timetableAuditor.audit().overlaps();
+
+        assertThat(overlaps).hasSize(200);
+        assertThat(overlaps).allSatisfy(overlap -> {
+            assertThat(overlap.secondClassId()).isEqualTo(overlap.firstClassId() + 1);
+            assertThat(overlap.start()).isEqualTo(8 * 60 + 30);
+            assertThat(overlap.end()).isEqualTo(9 * 60);
+        });
+        assertThat(overlaps).extracting(Overlap::key).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should describe each double-booking in the audit endpoint's response")
+    @SuppressWarnings("unchecked")
+    void auditEndpoint_ReportsConflicts() {
+        when(classRepository.findAllWithTeacher()).thenReturn(List.of(
+            clazz(1, "{\"monday\":[" + slot("08:00", "10:00", "A203") + "]}", smith),
+            clazz(2, "{\"monday\":[" + slot("09:00", "11:00", "B105") + "]}", smith)));
+        TimetableAdminController controller = new TimetableAdminController();
+        ReflectionTestUtils.setField(controller, "timetableAuditor", timetableAuditor);
+
+        Map<String, Object> body = controller.auditTimetable().getBody();
+
+        assertThat(body).containsEntry("consistent", false).containsEntry("classesScanned", 2).containsEntry("conflictCount", 1);
+        Map<String, Object> conflict = ((List<Map<String, Object>>) body.get("conflicts")).get(0);
+        assertThat(conflict).containsEntry("type", TimetableAuditor.TEACHER).containsEntry("teacherId", 1L)
+            .containsEntry("teacherName", "John Smith").containsEntry("day", "monday")
+            .containsEntry("startTime", "09:00").containsEntry("endTime", "10:00");
+        assertThat((List<Map<String, Object>>) conflict.get("classes")).extracting(c -> c.get("classId")).containsExactly(1L, 2L);
+    }
+}
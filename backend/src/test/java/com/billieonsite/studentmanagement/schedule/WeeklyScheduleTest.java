@@ -0,0 +1,64 @@
+package com.billieonsite.studentmanagement.schedule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeeklyScheduleTest {
+
+    private static final String JSON =
+        "{\"monday\":[{\"start\":\"08:00\",\"end\":\"10:00\",\"room\":\"A203\"}],\"tuesday\":[]," +
+        "\"wednesday\":[{\"start\":\"13:30\",\"end\":\"15:00\",\"room\":\"B105\"}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should serialize back to the same JSON it was read from")
+    void json_RoundTrips() throws Exception {
+        WeeklySchedule schedule = objectMapper.readValue(JSON, WeeklySchedule.class);
+
+        assertThat(objectMapper.writeValueAsString(schedule)).isEqualTo(JSON);
+        assertThat(objectMapper.readValue(objectMapper.writeValueAsString(schedule), WeeklySchedule.class)).isEqualTo(schedule);
+    }
+
+    @Test
+    @DisplayName("Should accept the schedule sent as a JSON string")
+    void json_AcceptsStringForm() throws Exception {
+        WeeklySchedule fromString = objectMapper.readValue(objectMapper.writeValueAsString(JSON), WeeklySchedule.class);
+
+        assertThat(fromString).isEqualTo(WeeklySchedule.fromJson(JSON));
+    }
+
+    @Test
+    @DisplayName("Should derive slots in day order and reuse them")
+    void slots_DerivedOnce() {
+        WeeklySchedule schedule = WeeklySchedule.fromJson(JSON);
+
+        List<SlotInterval> slots = schedule.slots();
+
+        assertThat(slots).containsExactly(
+            new SlotInterval(0, 480, 600, "A203"),
+            new SlotInterval(2, 810, 900, "B105"));
+        assertThat(schedule.slots()).isSameAs(slots);
+    }
+
+    @Test
+    @DisplayName("Should reject slots with missing fields, malformed times or no duration")
+    void slots_InvalidSchedule() {
+        assertThatThrownBy(() -> WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"08:00\",\"room\":\"A203\"}]}").slots())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"8am\",\"end\":\"10:00\",\"room\":\"A203\"}]}").slots())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"10:00\",\"end\":\"10:00\",\"room\":\"A203\"}]}").slots())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySchedule.fromJson("{\"monday\":[{\"start\":\"10:00\",\"end\":\"09:00\",\"room\":\"A203\"}]}").slots())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WeeklySchedule.fromJson("{not json"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
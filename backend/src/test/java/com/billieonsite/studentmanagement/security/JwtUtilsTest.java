@@ -0,0 +1,75 @@
+package com.billieonsite.studentmanagement.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "MySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256Algorithm";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = newJwtUtils(SECRET, 3_600_000);
+    }
+
+    private static JwtUtils newJwtUtils(String secret, int expirationMs) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", secret);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+        utils.init();
+        return utils;
+    }
+
+    @Test
+    @DisplayName("Should return every claim from a single verification")
+    void verify_Success() {
+        String token = jwtUtils.generateJwtToken("alice", 42L, "STUDENT", 3);
+
+        JwtClaims claims = jwtUtils.verify(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.username()).isEqualTo("alice");
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.role()).isEqualTo("STUDENT");
+        assertThat(claims.tokenVersion()).isEqualTo(3);
+        assertThat(jwtUtils.getExpirationFromJwtToken(token).toInstant()).isEqualTo(claims.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should serve a token verified before from the cache")
+    void verify_Cached() {
+        String token = jwtUtils.generateJwtToken("alice", 42L, "STUDENT", 3);
+
+        JwtClaims first = jwtUtils.verify(token);
+
+        assertThat(jwtUtils.verify(token)).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens that are tampered with or signed with another key")
+    void verify_InvalidSignature() {
+        String token = jwtUtils.generateJwtToken("alice", 42L, "STUDENT", 3);
+        String forged = newJwtUtils(SECRET.replace('M', 'N'), 3_600_000).generateJwtToken("alice", 42L, "ADMIN", 3);
+
+        assertThat(jwtUtils.verify(token.substring(0, token.length() - 2) + "xx")).isNull();
+        assertThat(jwtUtils.verify(forged)).isNull();
+        assertThat(jwtUtils.verify("not-a-token")).isNull();
+        assertThat(jwtUtils.validateJwtToken(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void verify_Expired() {
+        JwtUtils shortLived = newJwtUtils(SECRET, -1_000);
+        String token = shortLived.generateJwtToken("alice", 42L, "STUDENT", 3);
+
+        assertThat(shortLived.verify(token)).isNull();
+        assertThat(shortLived.validateJwtToken(token)).isFalse();
+    }
+}
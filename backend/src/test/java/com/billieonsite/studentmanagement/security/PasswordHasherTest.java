@@ -0,0 +1,89 @@
+package com.billieonsite.studentmanagement.security;
+
+import com.billieonsite.studentmanagement.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    private PasswordHasher newPasswordHasher(PasswordEncoder passwordEncoder, int threads, int queueCapacity) {
+        PasswordHasher hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(hasher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(hasher, "threads", threads);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(hasher, "timeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(hasher, "retryAfter", Duration.ofSeconds(2));
+        hasher.init();
+        return hasher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify passwords on the hashing pool and time both")
+    void encodeAndMatches_Success() {
+        passwordHasher = newPasswordHasher(new BCryptPasswordEncoder(4), 0, 8);
+
+        String hash = passwordHasher.encode("password123");
+
+        assertThat(passwordHasher.matches("password123", hash)).isTrue();
+        assertThat(passwordHasher.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should turn work away with a retry hint once the pool and its queue are full")
+    void encode_Saturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        passwordHasher = newPasswordHasher(blocking, 1, 1);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHasher, "executor");
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("first"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("second"));
+        while (executor.getActiveCount() < 1 || executor.getQueue().size() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> passwordHasher.encode("third"))
+            .isInstanceOf(ServiceBusyException.class)
+            .extracting("retryAfterSeconds").isEqualTo(2L);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("$2a$");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("$2a$");
+    }
+}
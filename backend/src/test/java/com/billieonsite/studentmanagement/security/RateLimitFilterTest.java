@@ -0,0 +1,161 @@
+package com.billieonsite.studentmanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Rule perAddress = rule("/api/auth/login", RateLimitProperties.Key.IP, 3);
+        RateLimitProperties.Rule perUser = rule("/api/auth/login", RateLimitProperties.Key.USER, 2);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(perAddress, perUser));
+
+        rateLimitFilter = new RateLimitFilter();
+        ReflectionTestUtils.setField(rateLimitFilter, "properties", properties);
+        ReflectionTestUtils.setField(rateLimitFilter, "jwtUtils", new JwtUtils());
+        ReflectionTestUtils.setField(rateLimitFilter, "objectMapper", new ObjectMapper());
+        rateLimitFilter.init();
+    }
+
+    private static RateLimitProperties.Rule rule(String path, RateLimitProperties.Key key, int capacity) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setMethod("POST");
+        rule.setPath(path);
+        rule.setKey(key);
+        rule.setCapacity(capacity);
+        rule.setPeriod(Duration.ofMinutes(1));
+        return rule;
+    }
+
+    private static MockHttpServletRequest login(String username, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(address);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should limit sign-ins per username and report the tightest bucket")
+    void login_LimitedPerUsername() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        rateLimitFilter.doFilter(login("alice", "10.0.0.1"), first, chain);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(first.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        // The controller still gets the whole body
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+            .contains("\"username\":\"alice\"");
+
+        rateLimitFilter.doFilter(login("Alice", "10.0.0.2"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        MockFilterChain refusedChain = new MockFilterChain();
+        rateLimitFilter.doFilter(login("alice", "10.0.0.3"), refused, refusedChain);
+
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(refused.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(refused.getContentAsString()).contains("\"error\"");
+        assertThat(refusedChain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should limit sign-ins per address across usernames and leave other routes alone")
+    void login_LimitedPerAddress() throws Exception {
+        for (String username : new String[] {"alice", "bob", "carol"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            rateLimitFilter.doFilter(login(username, "10.0.0.1"), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse refused = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(login("dave", "10.0.0.1"), refused, new MockFilterChain());
+        assertThat(refused.getStatus()).isEqualTo(429);
+
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        MockHttpServletRequest classes = new MockHttpServletRequest("GET", "/api/classes");
+        classes.setRemoteAddr("10.0.0.1");
+        rateLimitFilter.doFilter(classes, other, new MockFilterChain());
+        assertThat(other.getStatus()).isEqualTo(200);
+        assertThat(other.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should let the first request through a single-token rule")
+    void singleTokenRule_AllowsFirstRequest() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rule("/api/auth/register", RateLimitProperties.Key.IP, 1)));
+        ReflectionTestUtils.setField(rateLimitFilter, "properties", properties);
+        rateLimitFilter.init();
+
+        MockHttpServletRequest register = new MockHttpServletRequest("POST", "/api/auth/register");
+        register.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(register, first, new MockFilterChain());
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(register, second, new MockFilterChain());
+        assertThat(second.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should hand the cached body to a non-blocking reader")
+    void cachedBody_SupportsReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        rateLimitFilter.doFilter(login("alice", "10.0.0.1"), new MockHttpServletResponse(), chain);
+
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                while (input.isReady() && !input.isFinished()) {
+                    int read = input.read(buffer);
+                    if (read > 0) {
+                        body.write(buffer, 0, read);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertThat(allRead).isTrue();
+        assertThat(body.toString(StandardCharsets.UTF_8)).contains("\"username\":\"alice\"");
+    }
+}
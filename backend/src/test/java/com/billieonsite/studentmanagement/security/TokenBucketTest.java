@@ -0,0 +1,86 @@
+package com.billieonsite.studentmanagement.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a full burst, then refuse until a token has been refilled")
+    void tryTake_BurstThenRefill() {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, now);
+
+        assertThat(bucket.tryTake(now).remaining()).isEqualTo(2);
+        assertThat(bucket.tryTake(now).remaining()).isEqualTo(1);
+        assertThat(bucket.tryTake(now).remaining()).isEqualTo(0);
+
+        TokenBucket.Result refused = bucket.tryTake(now);
+        assertThat(refused.allowed()).isFalse();
+        assertThat(refused.retryAfterNanos()).isEqualTo(SECOND);
+        assertThat(refused.resetNanos()).isEqualTo(3 * SECOND);
+
+        assertThat(bucket.tryTake(now + SECOND).allowed()).isTrue();
+        assertThat(bucket.tryTake(now + SECOND).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should allow the first request of a single-token bucket")
+    void tryTake_SingleToken() {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(1, 60 * SECOND, now);
+
+        TokenBucket.Result first = bucket.tryTake(now);
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isEqualTo(0);
+
+        assertThat(bucket.tryTake(now).allowed()).isFalse();
+        assertThat(bucket.tryTake(now + 60 * SECOND).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refill to capacity and no further after a long pause")
+    void tryTake_RefillCapped() {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, now);
+        bucket.tryTake(now);
+
+        TokenBucket.Result result = bucket.tryTake(now + 60 * SECOND);
+
+        assertThat(result.allowed()).isTrue();
+        assertThat(result.limit()).isEqualTo(3);
+        assertThat(result.remaining()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly capacity tokens to concurrent callers")
+    void tryTake_Concurrent() throws InterruptedException {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(1_000, 1_000 * 60 * SECOND, now);
+        AtomicInteger allowed = new AtomicInteger();
+
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 500; j++) {
+                    if (bucket.tryTake(now).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(allowed.get()).isEqualTo(1_000);
+    }
+}
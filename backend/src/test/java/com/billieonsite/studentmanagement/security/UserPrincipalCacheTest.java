@@ -0,0 +1,89 @@
+package com.billieonsite.studentmanagement.security;
+
+import com.billieonsite.studentmanagement.model.Role;
+import com.billieonsite.studentmanagement.model.User;
+import com.billieonsite.studentmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserPrincipalCache userPrincipalCache;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userPrincipalCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userPrincipalCache, "ttl", Duration.ofMinutes(5));
+        userPrincipalCache.init();
+
+        alice = new User("alice", "encoded", Role.STUDENT);
+        alice.setId(1L);
+    }
+
+    private static JwtClaims claims(String username, int tokenVersion) {
+        return new JwtClaims(username, 1L, "STUDENT", tokenVersion, Instant.now().plusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Should read a user from the database once and serve later lookups from the cache")
+    void get_Cached() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(alice));
+
+        userPrincipalCache.get(1L);
+        Optional<UserPrincipalCache.CachedUser> user = userPrincipalCache.get(1L);
+
+        assertThat(user).isPresent();
+        assertThat(user.get().role()).isEqualTo(Role.STUDENT);
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload a user after eviction and refuse tokens issued before a revocation")
+    void evict_RevokesOldTokens() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(alice));
+        JwtClaims oldToken = claims("alice", 0);
+        assertThat(userPrincipalCache.get(1L).get().accepts(oldToken)).isTrue();
+
+        alice.revokeTokens();
+        userPrincipalCache.evict(1L);
+
+        UserPrincipalCache.CachedUser user = userPrincipalCache.get(1L).get();
+        assertThat(user.accepts(oldToken)).isFalse();
+        assertThat(user.accepts(claims("alice", 1))).isTrue();
+        assertThat(user.accepts(claims("bob", 1))).isFalse();
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should remember that a user does not exist")
+    void get_DeletedUser() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(userPrincipalCache.get(2L)).isEmpty();
+        assertThat(userPrincipalCache.get(2L)).isEmpty();
+        verify(userRepository, times(1)).findById(2L);
+    }
+}